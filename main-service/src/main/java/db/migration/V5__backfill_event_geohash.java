@@ -0,0 +1,80 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Заполняет geohash для событий, созданных до появления колонки. Кодирование скопировано сюда
+ * из GeoHash, чтобы изменения в коде приложения не меняли результат уже примененной миграции.
+ */
+public class V5__backfill_event_geohash extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+    private static final int PRECISION = 9;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement select = context.getConnection().createStatement();
+             ResultSet rows = select.executeQuery(
+                     "SELECT id, lat, lon FROM events WHERE geohash IS NULL AND lat IS NOT NULL AND lon IS NOT NULL");
+             PreparedStatement update = context.getConnection().prepareStatement(
+                     "UPDATE events SET geohash = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setString(1, encode(rows.getFloat("lat"), rows.getFloat("lon")));
+                update.setLong(2, rows.getLong("id"));
+                update.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+
+    private static String encode(double lat, double lon) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(PRECISION);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < PRECISION) {
+            if (evenBit) {
+                double middle = (minLon + maxLon) / 2;
+                if (lon >= middle) {
+                    index = index * 2 + 1;
+                    minLon = middle;
+                } else {
+                    index = index * 2;
+                    maxLon = middle;
+                }
+            } else {
+                double middle = (minLat + maxLat) / 2;
+                if (lat >= middle) {
+                    index = index * 2 + 1;
+                    minLat = middle;
+                } else {
+                    index = index * 2;
+                    maxLat = middle;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+}
@@ -2,8 +2,10 @@ package ru.practicum.main;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "ru.practicum")
+@EnableScheduling
 public class MainServerApplication {
     public static void main(String[] args) {
         SpringApplication.run(MainServerApplication.class, args);
@@ -3,6 +3,7 @@ package ru.practicum.main.category.controller;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +26,12 @@ public class PublicCategoryController {
         return service.getAll(from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<CategoryDto>> getAll(@RequestParam String cursor,
+                                                    @RequestParam(defaultValue = "10") @Positive int size) {
+        return service.getAll(cursor, size).toResponse();
+    }
+
     @GetMapping("/{catId}")
     public CategoryDto getById(@PathVariable long catId) {
         return service.getById(catId);
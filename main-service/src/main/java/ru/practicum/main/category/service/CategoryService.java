@@ -2,6 +2,7 @@ package ru.practicum.main.category.service;
 
 import ru.practicum.main.category.dto.CategoryDto;
 import ru.practicum.main.category.dto.NewCategoryDto;
+import ru.practicum.main.utility.CursorPage;
 
 import java.util.List;
 
@@ -15,4 +16,6 @@ public interface CategoryService {
     CategoryDto getById(long id);
 
     List<CategoryDto> getAll(int from, int size);
+
+    CursorPage<CategoryDto> getAll(String cursor, int size);
 }
\ No newline at end of file
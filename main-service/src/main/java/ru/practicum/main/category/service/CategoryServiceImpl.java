@@ -3,6 +3,8 @@ package ru.practicum.main.category.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main.category.model.Category;
@@ -13,6 +15,8 @@ import ru.practicum.main.category.dto.NewCategoryDto;
 import ru.practicum.main.event.repository.EventRepository;
 import ru.practicum.main.exception.ConflictException;
 import ru.practicum.main.exception.NotFoundException;
+import ru.practicum.main.utility.CursorPage;
+import ru.practicum.main.utility.KeysetCursor;
 
 import java.util.List;
 
@@ -45,7 +49,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new NotFoundException(String.format(CATEGORY_NOT_FOUND, id));
         }
 
-        if (eventRepository.existsByCategoryId(id)) {
+        if (eventRepository.existsByCategoryId(id) || eventRepository.existsArchivedByCategoryId(id)) {
             throw new ConflictException("В категории есть события.");
         }
 
@@ -68,4 +72,16 @@ public class CategoryServiceImpl implements CategoryService {
                 .map(CategoryMapper::toDto)
                 .toList();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CategoryDto> getAll(String cursor, int size) {
+        Sort sort = Sort.by("id");
+        Window<Category> window = repository.findBy(Specification.where(null), query -> query.sortBy(sort)
+                .limit(size)
+                .scroll(KeysetCursor.toPosition(cursor, sort)));
+        return KeysetCursor.toPage(window).map(categories -> categories.stream()
+                .map(CategoryMapper::toDto)
+                .toList());
+    }
 }
\ No newline at end of file
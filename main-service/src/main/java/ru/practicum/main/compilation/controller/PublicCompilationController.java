@@ -2,6 +2,7 @@ package ru.practicum.main.compilation.controller;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -28,6 +29,13 @@ public class  PublicCompilationController {
         return compilationService.getCompilations(pinned, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<CompilationDto>> getCompilations(@RequestParam(required = false) Boolean pinned,
+                                                                @RequestParam String cursor,
+                                                                @RequestParam(defaultValue = "10") @Positive int size) {
+        return compilationService.getCompilations(pinned, cursor, size).toResponse();
+    }
+
     @GetMapping("/{compId}")
     public CompilationDto getCompilation(@PathVariable long compId) {
         return compilationService.getCompilation(compId);
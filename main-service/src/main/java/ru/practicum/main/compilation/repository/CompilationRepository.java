@@ -3,8 +3,10 @@ package ru.practicum.main.compilation.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import ru.practicum.main.compilation.model.Compilation;
 
-public interface CompilationRepository extends JpaRepository<Compilation, Long> {
+public interface CompilationRepository extends JpaRepository<Compilation, Long>,
+        JpaSpecificationExecutor<Compilation> {
     Page<Compilation> findByPinned(boolean pinned, Pageable pageable);
 }
\ No newline at end of file
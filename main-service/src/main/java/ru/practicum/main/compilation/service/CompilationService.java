@@ -3,6 +3,7 @@ package ru.practicum.main.compilation.service;
 import ru.practicum.main.compilation.dto.CompilationDto;
 import ru.practicum.main.compilation.dto.NewCompilationDto;
 import ru.practicum.main.compilation.dto.UpdateCompilationRequest;
+import ru.practicum.main.utility.CursorPage;
 
 import java.util.List;
 
@@ -15,5 +16,7 @@ public interface CompilationService {
 
     List<CompilationDto> getCompilations(Boolean pinned, int from, int size);
 
+    CursorPage<CompilationDto> getCompilations(Boolean pinned, String cursor, int size);
+
     CompilationDto getCompilation(long compId);
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package ru.practicum.main.compilation.service;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main.compilation.mapper.CompilationMapper;
@@ -14,43 +16,32 @@ import ru.practicum.main.compilation.model.Compilation;
 import ru.practicum.main.event.model.Event;
 import ru.practicum.main.event.mapper.EventMapper;
 import ru.practicum.main.event.repository.EventRepository;
+import ru.practicum.main.event.service.EventViewService;
 import ru.practicum.main.event.dto.EventShortDto;
 import ru.practicum.main.exception.NotFoundException;
-import ru.practicum.main.request.repository.ParticipationRequestRepository;
-import ru.practicum.main.request.enums.RequestCount;
-import ru.practicum.main.request.enums.RequestStatus;
-import ru.practicum.stats.StatsClient;
-import ru.practicum.stats.dto.ViewStatsDto;
+import ru.practicum.main.utility.CursorPage;
+import ru.practicum.main.utility.KeysetCursor;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static ru.practicum.main.utility.Constant.COMPILATION_NOT_FOUND;
-import static ru.practicum.main.utility.Constant.DEFAULT_START;
-import static ru.practicum.main.utility.Constant.FORMATTER;
 
 @Service
 @Transactional
 public class CompilationServiceImpl implements CompilationService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
-    private final ParticipationRequestRepository requestRepository;
-    private final StatsClient statsClient;
+    private final EventViewService eventViewService;
 
     public CompilationServiceImpl(CompilationRepository compilationRepository,
                                   EventRepository eventRepository,
-                                  ParticipationRequestRepository requestRepository,
-                                  StatsClient statsClient) {
+                                  EventViewService eventViewService) {
         this.compilationRepository = compilationRepository;
         this.eventRepository = eventRepository;
-        this.requestRepository = requestRepository;
-        this.statsClient = statsClient;
+        this.eventViewService = eventViewService;
     }
 
     @Override
@@ -106,6 +97,22 @@ public class CompilationServiceImpl implements CompilationService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CompilationDto> getCompilations(Boolean pinned, String cursor, int size) {
+        Specification<Compilation> specification = Specification.where(null);
+        if (pinned != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("pinned"), pinned));
+        }
+        Sort sort = Sort.by("id");
+        Window<Compilation> window = compilationRepository.findBy(specification, query -> query.sortBy(sort)
+                .limit(size)
+                .scroll(KeysetCursor.toPosition(cursor, sort)));
+        return KeysetCursor.toPage(window).map(compilations -> compilations.stream()
+                .map(this::toDto)
+                .toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public CompilationDto getCompilation(long compId) {
@@ -120,56 +127,13 @@ public class CompilationServiceImpl implements CompilationService {
             eventSet = Set.of();
         }
         List<Event> events = eventSet.stream().toList();
-        Map<Long, Long> confirmed = getConfirmedRequests(events);
-        Map<Long, Long> views = getViews(events);
-        List<EventShortDto> eventDtos = events.stream()
-                .map(event -> EventMapper.toShortDto(
-                        event,
-                        confirmed.getOrDefault(event.getId(), 0L),
-                        views.getOrDefault(event.getId(), 0L)))
-                .toList();
+        List<EventShortDto> eventDtos = EventMapper.toShortDtos(events, getViews(events));
         return CompilationMapper.toDto(compilation, eventDtos);
     }
 
-    private Map<Long, Long> getConfirmedRequests(List<Event> events) {
-        if (events.isEmpty()) {
-            return Map.of();
-        }
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-        List<RequestCount> counts = requestRepository.countByEventIdsAndStatus(eventIds, RequestStatus.CONFIRMED);
-        Map<Long, Long> result = new HashMap<>();
-        for (RequestCount count : counts) {
-            result.put(count.getEventId(), count.getTotal());
-        }
-        return result;
-    }
-
     private Map<Long, Long> getViews(List<Event> events) {
-        if (events.isEmpty()) {
-            return Map.of();
-        }
-        Map<Long, Long> result = new HashMap<>();
-        Map<String, Long> uriToEventId = events.stream()
-                .filter(event -> event.getPublishedOn() != null)
-                .collect(Collectors.toMap(event -> "/events/" + event.getId(), Event::getId));
-        if (uriToEventId.isEmpty()) {
-            return result;
-        }
-        LocalDateTime earliestPublished = events.stream()
-                .map(Event::getPublishedOn)
-                .filter(Objects::nonNull)
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
-        String start = earliestPublished == null
-                ? DEFAULT_START
-                : earliestPublished.format(FORMATTER);
-        String end = LocalDateTime.now().format(FORMATTER);
-        List<ViewStatsDto> stats = statsClient.getStats(start, end, uriToEventId.keySet().stream().toList(), true);
-        Map<String, Long> hitsByUri = stats.stream()
-                .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
-        for (Map.Entry<String, Long> entry : uriToEventId.entrySet()) {
-            result.put(entry.getValue(), hitsByUri.getOrDefault(entry.getKey(), 0L));
-        }
-        return result;
+        return eventViewService.getViews(events.stream()
+                .map(Event::getId)
+                .toList());
     }
 }
\ No newline at end of file
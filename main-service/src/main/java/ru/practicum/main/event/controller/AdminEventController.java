@@ -1,6 +1,8 @@
 package ru.practicum.main.event.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.main.event.dto.EventFullDto;
 import ru.practicum.main.event.service.EventService;
 import ru.practicum.main.event.enums.EventState;
+import ru.practicum.main.event.model.EventStateBulkUpdateRequest;
+import ru.practicum.main.event.model.EventStateBulkUpdateResult;
 import ru.practicum.main.event.model.UpdateEventAdminRequest;
 
 import java.util.List;
@@ -35,6 +39,24 @@ public class AdminEventController {
         return eventService.getAdminEvents(users, states, categories, rangeStart, rangeEnd, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<EventFullDto>> getEvents(@RequestParam(required = false) List<Long> users,
+                                                        @RequestParam(required = false) List<EventState> states,
+                                                        @RequestParam(required = false) List<Long> categories,
+                                                        @RequestParam(required = false) String rangeStart,
+                                                        @RequestParam(required = false) String rangeEnd,
+                                                        @RequestParam String cursor,
+                                                        @RequestParam(defaultValue = "10") @Positive int size) {
+        return eventService.getAdminEvents(users, states, categories, rangeStart, rangeEnd, cursor, size)
+                .toResponse();
+    }
+
+    @PatchMapping
+    public EventStateBulkUpdateResult updateEvents(@Valid @RequestBody EventStateBulkUpdateRequest request,
+                                                   @RequestParam(defaultValue = "false") boolean enrich) {
+        return eventService.updateAdminEventStates(request, enrich);
+    }
+
     @PatchMapping("/{eventId}")
     public EventFullDto updateEvent(@PathVariable long eventId,
                                     @Valid @RequestBody UpdateEventAdminRequest request) {
@@ -1,7 +1,9 @@
 package ru.practicum.main.event.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -38,6 +40,13 @@ public class PrivateEventController {
         return eventService.getUserEvents(userId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<EventShortDto>> getEvents(@PathVariable long userId,
+                                                         @RequestParam String cursor,
+                                                         @RequestParam(defaultValue = "10") @Positive int size) {
+        return eventService.getUserEvents(userId, cursor, size).toResponse();
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EventFullDto addEvent(@PathVariable long userId, @Valid @RequestBody NewEventDto dto) {
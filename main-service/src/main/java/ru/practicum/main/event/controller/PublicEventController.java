@@ -1,21 +1,30 @@
 package ru.practicum.main.event.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import ru.practicum.main.event.dto.EventFullDto;
+import ru.practicum.main.event.dto.EventSuggestionDto;
 import ru.practicum.main.event.dto.PublicEventSearchRequest;
 import ru.practicum.main.event.service.EventService;
-import ru.practicum.main.event.dto.EventShortDto;
 import ru.practicum.main.event.enums.EventSort;
+import ru.practicum.main.utility.SparseFields;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/events")
@@ -24,23 +33,94 @@ public class PublicEventController {
     private final EventService eventService;
 
     @GetMapping
-    public List<EventShortDto> getEvents(@RequestParam(required = false) String text,
+    public MappingJacksonValue getEvents(@RequestParam(required = false) String text,
                                          @RequestParam(required = false) List<Long> categories,
                                          @RequestParam(required = false) Boolean paid,
                                          @RequestParam(required = false) String rangeStart,
                                          @RequestParam(required = false) String rangeEnd,
                                          @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+                                         @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90") Double lat,
+                                         @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180") Double lon,
+                                         @RequestParam(required = false) @Positive Double radius,
                                          @RequestParam(required = false) EventSort sort,
                                          @RequestParam(defaultValue = "0") @PositiveOrZero int from,
                                          @RequestParam(defaultValue = "10") @Positive int size,
+                                         @RequestParam(required = false) Set<String> fields,
                                          HttpServletRequest request) {
         PublicEventSearchRequest searchRequest = new PublicEventSearchRequest(text, categories, paid, rangeStart,
-                rangeEnd, onlyAvailable, sort, from, size);
-        return eventService.getPublicEvents(searchRequest, request);
+                rangeEnd, onlyAvailable, lat, lon, radius, sort, from, size, fields);
+        return SparseFields.apply(eventService.getPublicEvents(searchRequest, request), fields);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<MappingJacksonValue> getEvents(@RequestParam(required = false) String text,
+                                                         @RequestParam(required = false) List<Long> categories,
+                                                         @RequestParam(required = false) Boolean paid,
+                                                         @RequestParam(required = false) String rangeStart,
+                                                         @RequestParam(required = false) String rangeEnd,
+                                                         @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+                                                         @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90")
+                                                         Double lat,
+                                                         @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180")
+                                                         Double lon,
+                                                         @RequestParam(required = false) @Positive Double radius,
+                                                         @RequestParam(required = false) EventSort sort,
+                                                         @RequestParam String cursor,
+                                                         @RequestParam(defaultValue = "10") @Positive int size,
+                                                         @RequestParam(required = false) Set<String> fields,
+                                                         HttpServletRequest request) {
+        PublicEventSearchRequest searchRequest = new PublicEventSearchRequest(text, categories, paid, rangeStart,
+                rangeEnd, onlyAvailable, lat, lon, radius, sort, 0, size, fields);
+        return eventService.getPublicEvents(searchRequest, cursor, request)
+                .toResponse(items -> SparseFields.apply(items, fields));
+    }
+
+    @GetMapping(params = {"facets", "!cursor"})
+    public MappingJacksonValue getEvents(@RequestParam(required = false) String text,
+                                          @RequestParam(required = false) List<Long> categories,
+                                          @RequestParam(required = false) Boolean paid,
+                                          @RequestParam(required = false) String rangeStart,
+                                          @RequestParam(required = false) String rangeEnd,
+                                          @RequestParam(defaultValue = "false") Boolean onlyAvailable,
+                                          @RequestParam(required = false) @DecimalMin("-90") @DecimalMax("90") Double lat,
+                                          @RequestParam(required = false) @DecimalMin("-180") @DecimalMax("180") Double lon,
+                                          @RequestParam(required = false) @Positive Double radius,
+                                          @RequestParam(required = false) EventSort sort,
+                                          @RequestParam List<String> facets,
+                                          @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                          @RequestParam(defaultValue = "10") @Positive int size,
+                                          @RequestParam(required = false) Set<String> fields,
+                                          HttpServletRequest request) {
+        PublicEventSearchRequest searchRequest = new PublicEventSearchRequest(text, categories, paid, rangeStart,
+                rangeEnd, onlyAvailable, lat, lon, radius, sort, from, size, fields);
+        return SparseFields.apply(eventService.getPublicEventsWithFacets(searchRequest, facets, request), fields);
+    }
+
+    @GetMapping(params = {"ids", "!cursor", "!facets"})
+    public MappingJacksonValue getEvents(@RequestParam @NotEmpty @Size(max = 100) List<Long> ids,
+                                         @RequestParam(required = false) Set<String> fields,
+                                         HttpServletRequest request) {
+        return SparseFields.apply(eventService.getPublicEventsByIds(ids, fields, request), fields);
+    }
+
+    @GetMapping("/suggest")
+    public List<EventSuggestionDto> getSuggestions(@RequestParam @NotBlank String prefix,
+                                                   @RequestParam(defaultValue = "10") @Positive @Max(50) int size) {
+        return eventService.getSuggestions(prefix, size);
+    }
+
+    @GetMapping("/popular")
+    public MappingJacksonValue getPopularEvents(@RequestParam(required = false) Long category,
+                                                @RequestParam(defaultValue = "10") @Positive int size,
+                                                @RequestParam(required = false) Set<String> fields,
+                                                HttpServletRequest request) {
+        return SparseFields.apply(eventService.getPopularEvents(category, size, request), fields);
     }
 
     @GetMapping("/{id}")
-    public EventFullDto getEvent(@PathVariable long id, HttpServletRequest request) {
-        return eventService.getPublicEvent(id, request);
+    public MappingJacksonValue getEvent(@PathVariable long id,
+                                        @RequestParam(required = false) Set<String> fields,
+                                        HttpServletRequest request) {
+        return SparseFields.apply(eventService.getPublicEvent(id, request), fields);
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.main.event.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,14 +11,16 @@ import ru.practicum.main.category.dto.CategoryDto;
 import ru.practicum.main.event.enums.EventState;
 import ru.practicum.main.event.model.Location;
 import ru.practicum.main.user.dto.UserShortDto;
+import ru.practicum.main.utility.SparseFields;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(SparseFields.FILTER)
 public class EventFullDto {
     private String annotation;
     private CategoryDto category;
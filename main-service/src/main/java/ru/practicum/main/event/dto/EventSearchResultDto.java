@@ -0,0 +1,19 @@
+package ru.practicum.main.event.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchResultDto {
+    private List<EventShortDto> events;
+    private EventFacetsDto facets;
+}
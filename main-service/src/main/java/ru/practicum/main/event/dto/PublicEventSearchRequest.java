@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import ru.practicum.main.event.enums.EventSort;
 
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -17,7 +18,11 @@ public class PublicEventSearchRequest {
     private String rangeStart;
     private String rangeEnd;
     private Boolean onlyAvailable;
+    private Double lat;
+    private Double lon;
+    private Double radius;
     private EventSort sort;
     private int from;
     private int size;
+    private Set<String> fields;
 }
\ No newline at end of file
@@ -2,5 +2,7 @@ package ru.practicum.main.event.enums;
 
 public enum EventSort {
     EVENT_DATE,
-    VIEWS
+    VIEWS,
+    RELEVANCE,
+    DISTANCE
 }
\ No newline at end of file
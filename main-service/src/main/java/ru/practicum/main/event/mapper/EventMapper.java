@@ -1,12 +1,15 @@
 package ru.practicum.main.event.mapper;
 
+import ru.practicum.main.category.dto.CategoryDto;
 import ru.practicum.main.category.mapper.CategoryMapper;
 import ru.practicum.main.category.model.Category;
 import ru.practicum.main.event.dto.NewEventDto;
 import ru.practicum.main.event.enums.EventState;
 import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventShortView;
 import ru.practicum.main.event.dto.EventFullDto;
 import ru.practicum.main.event.dto.EventShortDto;
+import ru.practicum.main.user.dto.UserShortDto;
 import ru.practicum.main.user.mapper.UserMapper;
 import ru.practicum.main.user.model.User;
 
@@ -19,10 +22,10 @@ public final class EventMapper {
     }
 
     public static EventFullDto toFullDto(Event event) {
-        return toFullDto(event, 0, 0);
+        return toFullDto(event, 0);
     }
 
-    public static EventFullDto toFullDto(Event event, long confirmedRequests, long views) {
+    public static EventFullDto toFullDto(Event event, long views) {
         if (event == null) {
             return null;
         }
@@ -30,7 +33,7 @@ public final class EventMapper {
         return EventFullDto.builder()
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.toDto(event.getCategory()))
-                .confirmedRequests(confirmedRequests)
+                .confirmedRequests(event.getConfirmedRequests())
                 .createdOn(event.getCreatedOn())
                 .description(event.getDescription())
                 .eventDate(event.getEventDate())
@@ -47,26 +50,13 @@ public final class EventMapper {
                 .build();
     }
 
-    public static EventFullDto toFullDto(Event event, Map<Long, Long> confirmedMap, Map<Long, Long> viewsMap) {
-        if (event == null) {
-            return null;
-        }
-
-        return toFullDto(
-                event,
-                confirmedMap.getOrDefault(event.getId(), 0L),
-                viewsMap.getOrDefault(event.getId(), 0L)
-        );
-    }
-
-    public static List<EventFullDto> toFullDtos(List<Event> events, Map<Long, Long> confirmedMap,
-                                                Map<Long, Long> viewsMap) {
+    public static List<EventFullDto> toFullDtos(List<Event> events, Map<Long, Long> viewsMap) {
         return events.stream()
-                .map(event -> toFullDto(event, confirmedMap, viewsMap))
+                .map(event -> toFullDto(event, viewsMap.getOrDefault(event.getId(), 0L)))
                 .toList();
     }
 
-    public static EventShortDto toShortDto(Event event, long confirmedRequests, long views) {
+    public static EventShortDto toShortDto(Event event, long views) {
         if (event == null) {
             return null;
         }
@@ -74,7 +64,7 @@ public final class EventMapper {
         return EventShortDto.builder()
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.toDto(event.getCategory()))
-                .confirmedRequests(confirmedRequests)
+                .confirmedRequests(event.getConfirmedRequests())
                 .eventDate(event.getEventDate())
                 .id(event.getId())
                 .initiator(UserMapper.toShortDto(event.getInitiator()))
@@ -84,13 +74,29 @@ public final class EventMapper {
                 .build();
     }
 
-    public static List<EventShortDto> toShortDtos(List<Event> events, Map<Long, Long> confirmedMap,
-                                                  Map<Long, Long> viewsMap) {
+    public static List<EventShortDto> toShortDtos(List<Event> events, Map<Long, Long> viewsMap) {
         return events.stream()
-                .map(event -> toShortDto(
-                        event,
-                        confirmedMap.getOrDefault(event.getId(), 0L),
-                        viewsMap.getOrDefault(event.getId(), 0L)))
+                .map(event -> toShortDto(event, viewsMap.getOrDefault(event.getId(), 0L)))
+                .toList();
+    }
+
+    public static EventShortDto toShortDto(EventShortView view, long views) {
+        return EventShortDto.builder()
+                .annotation(view.annotation())
+                .category(new CategoryDto(view.categoryId(), view.categoryName()))
+                .confirmedRequests(view.confirmedRequests())
+                .eventDate(view.eventDate())
+                .id(view.id())
+                .initiator(new UserShortDto(view.initiatorId(), view.initiatorName()))
+                .paid(view.paid())
+                .title(view.title())
+                .views(views)
+                .build();
+    }
+
+    public static List<EventShortDto> toShortViewDtos(List<EventShortView> views, Map<Long, Long> viewsMap) {
+        return views.stream()
+                .map(view -> toShortDto(view, viewsMap.getOrDefault(view.id(), 0L)))
                 .toList();
     }
 
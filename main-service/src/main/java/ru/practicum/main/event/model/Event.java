@@ -5,20 +5,25 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import ru.practicum.main.category.model.Category;
 import ru.practicum.main.event.enums.EventState;
 import ru.practicum.main.user.model.User;
+import ru.practicum.main.utility.GeoHash;
 
 import java.time.LocalDateTime;
 
@@ -37,7 +42,7 @@ public class Event {
     @Column(nullable = false, length = 2000)
     private String annotation;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -53,7 +58,7 @@ public class Event {
     @Column(name = "published_on")
     private LocalDateTime publishedOn;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "initiator_id")
     private User initiator;
 
@@ -75,4 +80,23 @@ public class Event {
 
     @Column(nullable = false, length = 120)
     private String title;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long views;
+
+    @ColumnDefault("0")
+    @Column(name = "confirmed_requests", nullable = false)
+    private long confirmedRequests;
+
+    @Column(length = GeoHash.PRECISION)
+    private String geohash;
+
+    @PrePersist
+    @PreUpdate
+    private void updateGeohash() {
+        geohash = location == null || location.getLat() == null || location.getLon() == null
+                ? null
+                : GeoHash.encode(location.getLat(), location.getLon(), GeoHash.PRECISION);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package ru.practicum.main.event.model;
+
+import java.time.LocalDateTime;
+
+public record EventCatalogEntry(Long id,
+                                Long categoryId,
+                                boolean paid,
+                                LocalDateTime eventDate) {
+}
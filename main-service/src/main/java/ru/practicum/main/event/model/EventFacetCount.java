@@ -0,0 +1,6 @@
+package ru.practicum.main.event.model;
+
+public record EventFacetCount(Long categoryId,
+                              boolean paid,
+                              long count) {
+}
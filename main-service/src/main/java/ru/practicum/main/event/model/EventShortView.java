@@ -0,0 +1,25 @@
+package ru.practicum.main.event.model;
+
+import java.time.LocalDateTime;
+
+public record EventShortView(Long id,
+                             String annotation,
+                             Long categoryId,
+                             String categoryName,
+                             long confirmedRequests,
+                             LocalDateTime eventDate,
+                             Long initiatorId,
+                             String initiatorName,
+                             boolean paid,
+                             String title,
+                             long views) {
+
+    public Object sortKey(String property) {
+        return switch (property) {
+            case "id" -> id;
+            case "eventDate" -> eventDate;
+            case "views" -> views;
+            default -> throw new IllegalArgumentException("Неподдерживаемое поле сортировки: " + property);
+        };
+    }
+}
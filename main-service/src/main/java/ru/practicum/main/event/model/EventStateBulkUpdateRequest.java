@@ -0,0 +1,23 @@
+package ru.practicum.main.event.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.main.event.enums.EventAdminStateAction;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventStateBulkUpdateRequest {
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> ids;
+
+    @NotNull
+    private EventAdminStateAction stateAction;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.main.event.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.main.event.dto.EventFullDto;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventStateBulkUpdateResult {
+    private List<EventStateUpdateResult> results;
+    private List<EventFullDto> events;
+}
@@ -0,0 +1,6 @@
+package ru.practicum.main.event.model;
+
+public record EventTitle(Long id,
+                         String title,
+                         long views) {
+}
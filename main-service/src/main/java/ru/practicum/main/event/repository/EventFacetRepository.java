@@ -0,0 +1,11 @@
+package ru.practicum.main.event.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventFacetCount;
+
+import java.util.List;
+
+public interface EventFacetRepository {
+    List<EventFacetCount> countFacets(Specification<Event> specification);
+}
@@ -0,0 +1,35 @@
+package ru.practicum.main.event.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventFacetCount;
+
+import java.util.List;
+
+public class EventFacetRepositoryImpl implements EventFacetRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventFacetCount> countFacets(Specification<Event> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventFacetCount> query = cb.createQuery(EventFacetCount.class);
+        Root<Event> root = query.from(Event.class);
+        Path<Long> categoryId = root.get("category").get("id");
+        Path<Boolean> paid = root.get("paid");
+        query.select(cb.construct(EventFacetCount.class, categoryId, paid, cb.count(root)));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(categoryId, paid);
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -1,13 +1,90 @@
 package ru.practicum.main.event.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.main.event.enums.EventState;
 import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventCatalogEntry;
+import ru.practicum.main.event.model.EventTitle;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
-    Page<Event> findByInitiatorId(Long userId, Pageable pageable);
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>,
+        EventShortViewRepository, EventFacetRepository {
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Optional<Event> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    List<Event> findAllById(Iterable<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"category", "initiator"})
+    Page<Event> findAll(Specification<Event> specification, Pageable pageable);
 
     boolean existsByCategoryId(Long categoryId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Event e where e.id in :ids order by e.id")
+    List<Event> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Event e set e.state = ru.practicum.main.event.enums.EventState.PUBLISHED, "
+            + "e.publishedOn = :publishedOn where e.id in :ids")
+    int publishAll(@Param("ids") Collection<Long> ids, @Param("publishedOn") LocalDateTime publishedOn);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Event e set e.state = :state where e.id in :ids")
+    int updateStateAll(@Param("ids") Collection<Long> ids, @Param("state") EventState state);
+
+    @Query(value = "select id from events_archive where id in (:ids)", nativeQuery = true)
+    List<Long> findArchivedIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select * from events_archive where id = :id", nativeQuery = true)
+    Optional<Event> findArchivedById(@Param("id") Long id);
+
+    @Query(value = "select exists (select 1 from events_archive where id = :id)", nativeQuery = true)
+    boolean existsArchivedById(@Param("id") Long id);
+
+    @Query(value = "select exists (select 1 from events_archive where category_id = :categoryId)",
+            nativeQuery = true)
+    boolean existsArchivedByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("select new ru.practicum.main.event.model.EventTitle(e.id, e.title, e.views) from Event e "
+            + "where e.state = :state and e.eventDate > :after")
+    List<EventTitle> findTitles(@Param("state") EventState state, @Param("after") LocalDateTime after);
+
+    @Query("select new ru.practicum.main.event.model.EventTitle(e.id, e.title, e.views) from Event e "
+            + "where e.id in :ids and e.state = :state and e.eventDate > :after")
+    List<EventTitle> findTitles(@Param("ids") Collection<Long> ids, @Param("state") EventState state,
+                                @Param("after") LocalDateTime after);
+
+    @Query("select new ru.practicum.main.event.model.EventCatalogEntry(e.id, e.category.id, e.paid, e.eventDate) "
+            + "from Event e where e.state = :state and e.eventDate > :after")
+    List<EventCatalogEntry> findCatalogEntries(@Param("state") EventState state, @Param("after") LocalDateTime after);
+
+    @Query("select new ru.practicum.main.event.model.EventCatalogEntry(e.id, e.category.id, e.paid, e.eventDate) "
+            + "from Event e where e.id in :ids and e.state = :state and e.eventDate > :after")
+    List<EventCatalogEntry> findCatalogEntries(@Param("ids") Collection<Long> ids, @Param("state") EventState state,
+                                               @Param("after") LocalDateTime after);
+
+    @Query("select e.confirmedRequests from Event e where e.id = :id")
+    Optional<Long> findConfirmedRequestsById(@Param("id") Long id);
 }
\ No newline at end of file
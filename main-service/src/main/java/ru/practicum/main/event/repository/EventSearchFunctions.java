@@ -0,0 +1,34 @@
+package ru.practicum.main.event.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Функции полнотекстового поиска по событиям. Выражение tsvector должно совпадать с индексом events_search_idx
+ * из миграции V2__hot_path_indexes.sql, иначе Postgres не сможет использовать индекс.
+ */
+public class EventSearchFunctions implements FunctionContributor {
+    public static final String MATCH = "event_search_match";
+    public static final String RANK = "event_search_rank";
+
+    private static final String VECTOR = "(setweight(to_tsvector('simple', ?1), 'A') "
+            + "|| setweight(to_tsvector('simple', ?2), 'B') "
+            + "|| setweight(to_tsvector('simple', ?3), 'C'))";
+    private static final String QUERY = "to_tsquery('simple', ?4)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE);
+        functionContributions.getFunctionRegistry()
+                .registerPattern(MATCH, "(" + VECTOR + " @@ " + QUERY + ")", booleanType);
+        functionContributions.getFunctionRegistry()
+                .registerPattern(RANK, "ts_rank(" + VECTOR + ", " + QUERY + ")", doubleType);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.main.event.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventShortView;
+
+import java.util.List;
+
+public interface EventShortViewRepository {
+    List<EventShortView> findShortViews(Specification<Event> specification, Pageable pageable);
+}
@@ -0,0 +1,82 @@
+package ru.practicum.main.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Переносит давно прошедшие события и заявки на них в events_archive и requests_archive пачками,
+ * каждая пачка - отдельная транзакция. События из подборок остаются на месте, так как на них ссылается
+ * compilation_events.
+ */
+@Slf4j
+@Component
+public class EventArchiver {
+    private static final String EVENT_COLUMNS = "id, annotation, category_id, confirmed_requests, created_on, "
+            + "description, event_date, initiator_id, lat, lon, paid, participant_limit, published_on, "
+            + "request_moderation, state, title, views, geohash";
+    private static final String REQUEST_COLUMNS = "id, created, event_id, requester_id, status";
+
+    private static final String SELECT_BATCH = "select e.id from events e where e.event_date < :before "
+            + "and not exists (select 1 from compilation_events ce where ce.event_id = e.id) "
+            + "order by e.event_date, e.id limit :limit for update skip locked";
+    private static final String ARCHIVE_EVENTS = "insert into events_archive (" + EVENT_COLUMNS + ") select "
+            + EVENT_COLUMNS + " from events where id in (:ids)";
+    private static final String ARCHIVE_REQUESTS = "insert into requests_archive (" + REQUEST_COLUMNS + ") select "
+            + REQUEST_COLUMNS + " from requests where event_id in (:ids)";
+    private static final String DELETE_REQUESTS = "delete from requests where event_id in (:ids)";
+    private static final String DELETE_EVENTS = "delete from events where id in (:ids)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public EventArchiver(NamedParameterJdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${ewm.archive.after:1d}") Duration archiveAfter,
+                         @Value("${ewm.archive.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${ewm.archive.initial-delay:PT1M}",
+            fixedDelayString = "${ewm.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime before = LocalDateTime.now().minus(archiveAfter);
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(before));
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            log.info("В архив перенесено событий: {}.", total);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime before) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, new MapSqlParameterSource()
+                .addValue("before", before)
+                .addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(ARCHIVE_EVENTS, parameters);
+        jdbcTemplate.update(ARCHIVE_REQUESTS, parameters);
+        jdbcTemplate.update(DELETE_REQUESTS, parameters);
+        jdbcTemplate.update(DELETE_EVENTS, parameters);
+        return ids.size();
+    }
+}
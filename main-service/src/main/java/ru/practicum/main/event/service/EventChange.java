@@ -0,0 +1,10 @@
+package ru.practicum.main.event.service;
+
+import java.util.Set;
+
+/**
+ * Изменение одного или нескольких событий в одной транзакции. categoryIds - категории, в которых событие
+ * было или стало опубликованным; published - затронуто ли хотя бы одно опубликованное событие.
+ */
+public record EventChange(Set<Long> eventIds, Set<Long> categoryIds, boolean published) {
+}
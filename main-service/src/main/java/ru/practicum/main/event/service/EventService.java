@@ -3,22 +3,30 @@ package ru.practicum.main.event.service;
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.main.event.dto.PublicEventSearchRequest;
 import ru.practicum.main.event.enums.EventState;
+import ru.practicum.main.event.model.EventStateBulkUpdateRequest;
+import ru.practicum.main.event.model.EventStateBulkUpdateResult;
 import ru.practicum.main.event.model.UpdateEventAdminRequest;
 import ru.practicum.main.event.model.UpdateEventUserRequest;
 import ru.practicum.main.event.dto.EventFullDto;
 import ru.practicum.main.event.dto.EventShortDto;
+import ru.practicum.main.event.dto.EventSearchResultDto;
+import ru.practicum.main.event.dto.EventSuggestionDto;
 import ru.practicum.main.event.dto.NewEventDto;
 import ru.practicum.main.request.model.EventRequestStatusUpdateRequest;
 import ru.practicum.main.request.model.EventRequestStatusUpdateResult;
 import ru.practicum.main.request.dto.ParticipationRequestDto;
+import ru.practicum.main.utility.CursorPage;
 
 import java.util.List;
+import java.util.Set;
 
 public interface EventService {
     EventFullDto addEvent(long userId, NewEventDto dto);
 
     List<EventShortDto> getUserEvents(long userId, int from, int size);
 
+    CursorPage<EventShortDto> getUserEvents(long userId, String cursor, int size);
+
     EventFullDto getUserEvent(long userId, long eventId);
 
     EventFullDto updateUserEvent(long userId, long eventId, UpdateEventUserRequest request);
@@ -31,9 +39,26 @@ public interface EventService {
     List<EventFullDto> getAdminEvents(List<Long> users, List<EventState> states, List<Long> categories,
                                       String rangeStart, String rangeEnd, int from, int size);
 
+    CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<EventState> states, List<Long> categories,
+                                            String rangeStart, String rangeEnd, String cursor, int size);
+
     EventFullDto updateAdminEvent(long eventId, UpdateEventAdminRequest request);
 
+    EventStateBulkUpdateResult updateAdminEventStates(EventStateBulkUpdateRequest request, boolean enrich);
+
     List<EventShortDto> getPublicEvents(PublicEventSearchRequest request, HttpServletRequest servletRequest);
 
+    CursorPage<EventShortDto> getPublicEvents(PublicEventSearchRequest request, String cursor,
+                                              HttpServletRequest servletRequest);
+
+    EventSearchResultDto getPublicEventsWithFacets(PublicEventSearchRequest request, List<String> facets,
+                                                   HttpServletRequest servletRequest);
+
     EventFullDto getPublicEvent(long eventId, HttpServletRequest request);
+
+    List<EventFullDto> getPublicEventsByIds(List<Long> eventIds, Set<String> fields, HttpServletRequest request);
+
+    List<EventSuggestionDto> getSuggestions(String prefix, int size);
+
+    List<EventShortDto> getPopularEvents(Long categoryId, int size, HttpServletRequest request);
 }
\ No newline at end of file
@@ -1,10 +1,17 @@
 package ru.practicum.main.event.service;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,18 +19,29 @@ import ru.practicum.main.category.model.Category;
 import ru.practicum.main.category.repository.CategoryRepository;
 import ru.practicum.main.event.dto.PublicEventSearchRequest;
 import ru.practicum.main.event.enums.EventAdminStateAction;
+import ru.practicum.main.event.enums.EventFacet;
 import ru.practicum.main.event.enums.EventSort;
 import ru.practicum.main.event.enums.EventState;
 import ru.practicum.main.event.enums.EventUserStateAction;
 import ru.practicum.main.event.model.UpdateEventAdminRequest;
 import ru.practicum.main.event.repository.UpdateEventRequest;
 import ru.practicum.main.event.model.UpdateEventUserRequest;
+import ru.practicum.main.event.dto.EventFacetsDto;
 import ru.practicum.main.event.dto.EventFullDto;
+import ru.practicum.main.event.dto.EventSearchResultDto;
+import ru.practicum.main.event.dto.EventSuggestionDto;
 import ru.practicum.main.event.dto.EventShortDto;
 import ru.practicum.main.event.dto.NewEventDto;
 import ru.practicum.main.event.mapper.EventMapper;
 import ru.practicum.main.event.model.Event;
+import ru.practicum.main.event.model.EventFacetCount;
+import ru.practicum.main.event.model.EventShortView;
+import ru.practicum.main.event.model.EventStateBulkUpdateRequest;
+import ru.practicum.main.event.model.EventStateBulkUpdateResult;
+import ru.practicum.main.event.model.EventStateUpdateResult;
+import ru.practicum.main.event.model.Location;
 import ru.practicum.main.event.repository.EventRepository;
+import ru.practicum.main.event.repository.EventSearchFunctions;
 import ru.practicum.main.exception.BadRequestException;
 import ru.practicum.main.exception.ConflictException;
 import ru.practicum.main.exception.ForbiddenException;
@@ -34,24 +52,33 @@ import ru.practicum.main.request.model.ParticipationRequest;
 import ru.practicum.main.request.dto.ParticipationRequestDto;
 import ru.practicum.main.request.mapper.ParticipationRequestMapper;
 import ru.practicum.main.request.repository.ParticipationRequestRepository;
-import ru.practicum.main.request.enums.RequestCount;
 import ru.practicum.main.request.enums.RequestStatus;
 import ru.practicum.main.request.enums.RequestUpdateStatus;
 import ru.practicum.main.user.model.User;
 import ru.practicum.main.user.repository.UserRepository;
-import ru.practicum.stats.StatsClient;
-import ru.practicum.stats.dto.ViewStatsDto;
+import ru.practicum.main.utility.CursorPage;
+import ru.practicum.main.utility.GeoHash;
+import ru.practicum.main.utility.KeysetCursor;
+import ru.practicum.main.utility.SparseFields;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.main.utility.Constant.CATEGORY_NOT_FOUND;
-import static ru.practicum.main.utility.Constant.DEFAULT_START;
+import static ru.practicum.main.utility.Constant.EVENT_ARCHIVED;
 import static ru.practicum.main.utility.Constant.EVENT_NOT_FOUND;
 import static ru.practicum.main.utility.Constant.FORMATTER;
 import static ru.practicum.main.utility.Constant.NOT_INITIATOR;
@@ -61,23 +88,42 @@ import static ru.practicum.main.utility.Constant.USER_NOT_FOUND;
 @Transactional
 public class EventServiceImpl implements EventService {
     private static final String EVENT_DATE = "eventDate";
+    private static final String VIEWS = "views";
 
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final ParticipationRequestRepository requestRepository;
-    private final StatsClient statsClient;
+    private final EventViewService eventViewService;
+    private final PublicEventSearchCache searchCache;
+    private final PublicEventCache publicEventCache;
+    private final EventTitleIndex eventTitleIndex;
+    private final PublicEventCatalog publicEventCatalog;
+    private final PopularEventsBoard popularEventsBoard;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventServiceImpl(EventRepository eventRepository,
                             UserRepository userRepository,
                             CategoryRepository categoryRepository,
                             ParticipationRequestRepository requestRepository,
-                            StatsClient statsClient) {
+                            EventViewService eventViewService,
+                            PublicEventSearchCache searchCache,
+                            PublicEventCache publicEventCache,
+                            EventTitleIndex eventTitleIndex,
+                            PublicEventCatalog publicEventCatalog,
+                            PopularEventsBoard popularEventsBoard,
+                            ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.requestRepository = requestRepository;
-        this.statsClient = statsClient;
+        this.eventViewService = eventViewService;
+        this.searchCache = searchCache;
+        this.publicEventCache = publicEventCache;
+        this.eventTitleIndex = eventTitleIndex;
+        this.publicEventCatalog = publicEventCatalog;
+        this.popularEventsBoard = popularEventsBoard;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -99,48 +145,62 @@ public class EventServiceImpl implements EventService {
     public List<EventShortDto> getUserEvents(long userId, int from, int size) {
         ensureUserExists(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("id"));
-        List<Event> events = eventRepository.findByInitiatorId(userId, pageable).getContent();
-        return EventMapper.toShortDtos(events, getConfirmedRequests(events), getViews(events));
+        return toShortViewDtos(eventRepository.findShortViews(initiatedBy(userId), pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventShortDto> getUserEvents(long userId, String cursor, int size) {
+        ensureUserExists(userId);
+        return scrollShortViews(initiatedBy(userId), Sort.by("id"), cursor, size);
     }
 
     @Override
     @Transactional(readOnly = true)
     public EventFullDto getUserEvent(long userId, long eventId) {
         Event event = eventRepository.findById(eventId)
+                .or(() -> eventRepository.findArchivedById(eventId))
                 .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
         if (!event.getInitiator().getId().equals(userId)) {
             throw new ForbiddenException(NOT_INITIATOR);
         }
-        return EventMapper.toFullDto(event, getConfirmedRequests(List.of(event)), getViews(List.of(event)));
+        return toFullDto(event);
     }
 
     @Override
     public EventFullDto updateUserEvent(long userId, long eventId, UpdateEventUserRequest request) {
         Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
+                .orElseThrow(() -> eventNotFound(eventId));
         if (!event.getInitiator().getId().equals(userId)) {
             throw new ForbiddenException(NOT_INITIATOR);
         }
         if (event.getState() == EventState.PUBLISHED) {
             throw new ConflictException("Опубликованное событие нельзя изменить.");
         }
+        Long previousCategoryId = event.getCategory().getId();
         applyUserUpdate(event, request);
         if (event.getEventDate().isBefore(LocalDateTime.now().plusHours(2))) {
             throw new BadRequestException("Дата события должна быть минимум через 2 часа.");
         }
         Event saved = eventRepository.save(event);
-        return EventMapper.toFullDto(saved, getConfirmedRequests(List.of(saved)), getViews(List.of(saved)));
+        publishChange(saved, previousCategoryId, false);
+        return toFullDto(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ParticipationRequestDto> getEventParticipants(long userId, long eventId) {
-        Event event = eventRepository.findById(eventId)
+        Optional<Event> active = eventRepository.findById(eventId);
+        Event event = active
+                .or(() -> eventRepository.findArchivedById(eventId))
                 .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
         if (!event.getInitiator().getId().equals(userId)) {
             throw new ForbiddenException(NOT_INITIATOR);
         }
-        return requestRepository.findByEventId(eventId).stream()
+        List<ParticipationRequest> requests = active.isPresent()
+                ? requestRepository.findByEventId(eventId)
+                : requestRepository.findArchivedByEventId(eventId);
+        return requests.stream()
                 .map(ParticipationRequestMapper::toDto)
                 .toList();
     }
@@ -152,9 +212,10 @@ public class EventServiceImpl implements EventService {
         List<Long> requestIds = request.getRequestIds();
         List<ParticipationRequest> requests = requestRepository.findAllById(requestIds);
         validatePendingRequests(eventId, requests);
-        long confirmedCount = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        RequestUpdateOutcome outcome = processStatusUpdate(event, requests, request.getStatus(), confirmedCount);
+        RequestUpdateOutcome outcome = processStatusUpdate(event, requests, request.getStatus(),
+                event.getConfirmedRequests());
         rejectRemainingPendingIfLimitReached(event, requestIds, outcome);
+        event.setConfirmedRequests(outcome.getConfirmedCount());
         requestRepository.saveAll(outcome.getToSave());
         return new EventRequestStatusUpdateResult(outcome.getConfirmed(), outcome.getRejected());
     }
@@ -163,84 +224,255 @@ public class EventServiceImpl implements EventService {
     @Transactional(readOnly = true)
     public List<EventFullDto> getAdminEvents(List<Long> users, List<EventState> states, List<Long> categories,
                                              String rangeStart, String rangeEnd, int from, int size) {
-        LocalDateTime start = parseDate(rangeStart);
-        LocalDateTime end = parseDate(rangeEnd);
-        if (start != null && end != null && start.isAfter(end)) {
-            throw new BadRequestException("Диапазон дат указан неверно.");
-        }
-        Specification<Event> specification = buildAdminSpecification(users, states, categories, start, end);
+        Specification<Event> specification = buildAdminSpecification(users, states, categories, rangeStart,
+                rangeEnd);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("id"));
         List<Event> events = eventRepository.findAll(specification, pageable).getContent();
-        return EventMapper.toFullDtos(events, getConfirmedRequests(events), getViews(events));
+        return toFullDtos(events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventFullDto> getAdminEvents(List<Long> users, List<EventState> states, List<Long> categories,
+                                                   String rangeStart, String rangeEnd, String cursor, int size) {
+        Specification<Event> specification = buildAdminSpecification(users, states, categories, rangeStart,
+                rangeEnd);
+        return KeysetCursor.toPage(scroll(specification, Sort.by("id"), cursor, size))
+                .map(this::toFullDtos);
     }
 
     @Override
     public EventFullDto updateAdminEvent(long eventId, UpdateEventAdminRequest request) {
         Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
+                .orElseThrow(() -> eventNotFound(eventId));
+        Long previousCategoryId = event.getCategory().getId();
+        boolean wasPublished = event.getState() == EventState.PUBLISHED;
         applyAdminUpdate(event, request);
         if (event.getEventDate().isBefore(LocalDateTime.now().plusHours(1))) {
             throw new BadRequestException("Дата события должна быть минимум через час.");
         }
         Event saved = eventRepository.save(event);
-        return EventMapper.toFullDto(saved, getConfirmedRequests(List.of(saved)), getViews(List.of(saved)));
+        publishChange(saved, previousCategoryId, wasPublished);
+        return toFullDto(saved);
+    }
+
+    @Override
+    public EventStateBulkUpdateResult updateAdminEventStates(EventStateBulkUpdateRequest request, boolean enrich) {
+        List<Long> eventIds = request.getIds().stream()
+                .distinct()
+                .toList();
+        Map<Long, Event> events = eventRepository.findAllByIdForUpdate(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        Set<Long> archivedIds = events.size() == eventIds.size()
+                ? Set.of()
+                : new HashSet<>(eventRepository.findArchivedIds(eventIds));
+        LocalDateTime now = LocalDateTime.now();
+        EventState targetState = request.getStateAction() == EventAdminStateAction.PUBLISH_EVENT
+                ? EventState.PUBLISHED
+                : EventState.CANCELED;
+
+        List<EventStateUpdateResult> results = new ArrayList<>();
+        List<Event> updated = new ArrayList<>();
+        for (Long eventId : eventIds) {
+            Event event = events.get(eventId);
+            String error;
+            if (event == null) {
+                error = String.format(archivedIds.contains(eventId) ? EVENT_ARCHIVED : EVENT_NOT_FOUND, eventId);
+            } else {
+                error = getAdminStateActionError(event, request.getStateAction());
+                if (error == null && targetState == EventState.PUBLISHED
+                        && event.getEventDate().isBefore(now.plusHours(1))) {
+                    error = "Дата события должна быть минимум через час.";
+                }
+            }
+            if (error == null) {
+                updated.add(event);
+                results.add(new EventStateUpdateResult(eventId, targetState, null));
+            } else {
+                results.add(new EventStateUpdateResult(eventId, event == null ? null : event.getState(), error));
+            }
+        }
+
+        List<Long> updatedIds = updated.stream()
+                .map(Event::getId)
+                .toList();
+        if (!updatedIds.isEmpty()) {
+            if (targetState == EventState.PUBLISHED) {
+                eventRepository.publishAll(updatedIds, now);
+            } else {
+                eventRepository.updateStateAll(updatedIds, targetState);
+            }
+            Set<Long> categoryIds = updated.stream()
+                    .filter(event -> targetState == EventState.PUBLISHED || event.getState() == EventState.PUBLISHED)
+                    .map(event -> event.getCategory().getId())
+                    .collect(Collectors.toSet());
+            eventPublisher.publishEvent(new EventChange(Set.copyOf(updatedIds), categoryIds,
+                    !categoryIds.isEmpty()));
+        }
+        List<EventFullDto> enriched = enrich && !updatedIds.isEmpty()
+                ? toFullDtos(eventRepository.findAllById(updatedIds))
+                : null;
+        return new EventStateBulkUpdateResult(results, enriched);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<EventShortDto> getPublicEvents(PublicEventSearchRequest request,
                                                HttpServletRequest servletRequest) {
-        LocalDateTime start = parseDate(request.getRangeStart());
-        LocalDateTime end = parseDate(request.getRangeEnd());
-        if (start != null && end != null && start.isAfter(end)) {
-            throw new BadRequestException("Диапазон дат указан неверно.");
+        validateGeoFilter(request);
+        boolean withViews = SparseFields.includes(request.getFields(), VIEWS);
+        List<Long> eventIds = searchCache.get(request);
+        if (eventIds == null) {
+            eventIds = searchCatalog(request).orElse(null);
+            if (eventIds != null) {
+                searchCache.put(request, eventIds);
+            }
         }
-        if (start == null && end == null) {
-            start = LocalDateTime.now();
+        List<EventShortDto> result;
+        if (eventIds != null) {
+            result = toShortViewDtosByIds(eventIds, withViews);
+        } else {
+            List<EventShortView> events = findPublicEvents(request);
+            searchCache.put(request, events.stream()
+                    .map(EventShortView::id)
+                    .toList());
+            result = toShortViewDtos(events, withViews);
         }
-        Specification<Event> specification = buildPublicSpecification(request.getText(), request.getCategories(),
-                request.getPaid(), start, end);
+        eventViewService.recordHit(servletRequest);
+        return result;
+    }
 
-        List<Event> events;
+    private List<EventShortView> findPublicEvents(PublicEventSearchRequest request) {
+        Specification<Event> specification = buildPublicSpecification(request);
+        List<EventShortView> events;
         if (request.getSort() == EventSort.VIEWS) {
-            events = eventRepository.findAll(specification);
+            Pageable pageable = PageRequest.of(request.getFrom() / request.getSize(), request.getSize(),
+                    Sort.by(Sort.Direction.DESC, VIEWS).and(Sort.by("id")));
+            events = eventRepository.findShortViews(specification, pageable);
+        } else if (request.getSort() == EventSort.RELEVANCE && request.getText() != null
+                && !request.getText().isBlank()) {
+            Pageable pageable = PageRequest.of(request.getFrom() / request.getSize(), request.getSize());
+            events = eventRepository.findShortViews(specification.and(orderByRelevance(request.getText())),
+                    pageable);
+        } else if (request.getSort() == EventSort.DISTANCE) {
+            Pageable pageable = PageRequest.of(request.getFrom() / request.getSize(), request.getSize());
+            events = eventRepository.findShortViews(specification.and(orderByDistance(request.getLat(),
+                    request.getLon())), pageable);
         } else {
             Pageable pageable = PageRequest.of(request.getFrom() / request.getSize(), request.getSize(),
                     Sort.by(EVENT_DATE));
-            events = eventRepository.findAll(specification, pageable).getContent();
+            events = eventRepository.findShortViews(specification, pageable);
         }
+        return events;
+    }
 
-        if (Boolean.TRUE.equals(request.getOnlyAvailable())) {
-            Map<Long, Long> confirmedMap = getConfirmedRequests(events);
-            events = events.stream()
-                    .filter(event -> event.getParticipantLimit() == 0
-                            || confirmedMap.getOrDefault(event.getId(), 0L) < event.getParticipantLimit())
-                    .toList();
+    private Optional<List<Long>> searchCatalog(PublicEventSearchRequest request) {
+        if ((request.getText() != null && !request.getText().isBlank())
+                || request.getSort() == EventSort.VIEWS || request.getSort() == EventSort.DISTANCE
+                || Boolean.TRUE.equals(request.getOnlyAvailable()) || hasGeoFilter(request)) {
+            return Optional.empty();
         }
+        DateRange range = resolvePublicRange(request);
+        return publicEventCatalog.search(request.getCategories(), request.getPaid(), range.start(), range.end(),
+                request.getFrom() / request.getSize() * request.getSize(), request.getSize());
+    }
 
-        List<EventShortDto> result = EventMapper.toShortDtos(events, getConfirmedRequests(events), getViews(events));
-        if (Boolean.TRUE.equals(request.getOnlyAvailable())) {
-            result = result.stream()
-                    .sorted(Comparator.comparingLong(EventShortDto::getViews).reversed())
-                    .toList();
-            int startIndex = Math.min(request.getFrom(), result.size());
-            int endIndex = Math.min(request.getFrom() + request.getSize(), result.size());
-            result = result.subList(startIndex, endIndex);
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<EventShortDto> getPublicEvents(PublicEventSearchRequest request, String cursor,
+                                                     HttpServletRequest servletRequest) {
+        validateGeoFilter(request);
+        Specification<Event> specification = buildPublicSpecification(request);
+        Sort sort;
+        if (request.getSort() == EventSort.VIEWS) {
+            sort = Sort.by(Sort.Direction.DESC, VIEWS).and(Sort.by("id"));
+        } else if (request.getSort() == EventSort.RELEVANCE && request.getText() != null
+                && !request.getText().isBlank()) {
+            throw new BadRequestException("Курсор не поддерживается при сортировке по релевантности.");
+        } else if (request.getSort() == EventSort.DISTANCE) {
+            throw new BadRequestException("Курсор не поддерживается при сортировке по расстоянию.");
+        } else {
+            sort = Sort.by(EVENT_DATE).and(Sort.by("id"));
         }
-        statsClient.addHit(servletRequest);
+        CursorPage<EventShortDto> result = scrollShortViews(specification, sort, cursor, request.getSize(),
+                SparseFields.includes(request.getFields(), VIEWS));
+        eventViewService.recordHit(servletRequest);
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EventSearchResultDto getPublicEventsWithFacets(PublicEventSearchRequest request, List<String> facets,
+                                                          HttpServletRequest servletRequest) {
+        Set<EventFacet> requestedFacets = parseFacets(facets);
+        List<EventShortDto> events = getPublicEvents(request, servletRequest);
+        EventFacetsDto facetsDto = new EventFacetsDto();
+        if (!requestedFacets.isEmpty()) {
+            List<EventFacetCount> counts = eventRepository.countFacets(buildPublicSpecification(request));
+            if (requestedFacets.contains(EventFacet.CATEGORY)) {
+                facetsDto.setCategory(counts.stream()
+                        .collect(Collectors.groupingBy(EventFacetCount::categoryId, TreeMap::new,
+                                Collectors.summingLong(EventFacetCount::count))));
+            }
+            if (requestedFacets.contains(EventFacet.PAID)) {
+                facetsDto.setPaid(counts.stream()
+                        .collect(Collectors.groupingBy(EventFacetCount::paid, TreeMap::new,
+                                Collectors.summingLong(EventFacetCount::count))));
+            }
+        }
+        return EventSearchResultDto.builder()
+                .events(events)
+                .facets(facetsDto)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public EventFullDto getPublicEvent(long eventId, HttpServletRequest request) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
-        if (event.getState() != EventState.PUBLISHED) {
+        EventFullDto event = publicEventCache.get(eventId);
+        if (event == null) {
             throw new NotFoundException(String.format(EVENT_NOT_FOUND, eventId));
         }
-        statsClient.addHit(request);
-        return EventMapper.toFullDto(event, getConfirmedRequests(List.of(event)), getViews(List.of(event)));
+        long views = eventViewService.recordView(eventId, request);
+        return event.toBuilder()
+                .views(views)
+                .confirmedRequests(eventRepository.findConfirmedRequestsById(eventId)
+                        .orElse(event.getConfirmedRequests()))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventFullDto> getPublicEventsByIds(List<Long> eventIds, Set<String> fields,
+                                                   HttpServletRequest request) {
+        Map<Long, Event> byId = eventRepository.findAllById(new HashSet<>(eventIds)).stream()
+                .filter(event -> event.getState() == EventState.PUBLISHED)
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        CompletableFuture<Map<Long, Long>> views = SparseFields.includes(fields, VIEWS)
+                ? eventViewService.getViewsAsync(byId.keySet())
+                : CompletableFuture.completedFuture(Map.of());
+        List<Event> events = eventIds.stream()
+                .distinct()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        List<EventFullDto> result = EventMapper.toFullDtos(events, join(views));
+        eventViewService.recordHits(byId.keySet(), request);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventShortDto> getPopularEvents(Long categoryId, int size, HttpServletRequest request) {
+        List<EventShortDto> result = popularEventsBoard.get(categoryId, size);
+        eventViewService.recordHit(request);
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventSuggestionDto> getSuggestions(String prefix, int size) {
+        return eventTitleIndex.suggest(prefix, size);
     }
 
     private void applyUserUpdate(Event event, UpdateEventUserRequest request) {
@@ -296,54 +528,134 @@ public class EventServiceImpl implements EventService {
     }
 
     private void applyAdminStateAction(Event event, UpdateEventAdminRequest request) {
+        if (request.getStateAction() == null) {
+            return;
+        }
+        String error = getAdminStateActionError(event, request.getStateAction());
+        if (error != null) {
+            throw new ConflictException(error);
+        }
         if (request.getStateAction() == EventAdminStateAction.PUBLISH_EVENT) {
-            if (event.getState() != EventState.PENDING) {
-                throw new ConflictException("Событие не в статусе ожидания публикации.");
-            }
             event.setState(EventState.PUBLISHED);
             event.setPublishedOn(LocalDateTime.now());
         }
         if (request.getStateAction() == EventAdminStateAction.REJECT_EVENT) {
-            if (event.getState() == EventState.PUBLISHED) {
-                throw new ConflictException("Опубликованное событие нельзя отклонить.");
-            }
             event.setState(EventState.CANCELED);
         }
     }
 
-    private Map<Long, Long> getConfirmedRequests(List<Event> events) {
-        if (events.isEmpty()) {
-            return Map.of();
+    private String getAdminStateActionError(Event event, EventAdminStateAction stateAction) {
+        if (stateAction == EventAdminStateAction.PUBLISH_EVENT && event.getState() != EventState.PENDING) {
+            return "Событие не в статусе ожидания публикации.";
         }
-        List<Long> eventIds = events.stream()
-                .map(Event::getId)
-                .toList();
-        List<RequestCount> counts = requestRepository.countByEventIdsAndStatus(eventIds, RequestStatus.CONFIRMED);
-        Map<Long, Long> result = new HashMap<>();
-        for (RequestCount count : counts) {
-            result.put(count.getEventId(), count.getTotal());
+        if (stateAction == EventAdminStateAction.REJECT_EVENT && event.getState() == EventState.PUBLISHED) {
+            return "Опубликованное событие нельзя отклонить.";
         }
-        return result;
+        return null;
+    }
+
+    private List<EventShortDto> toShortViewDtos(List<EventShortView> events) {
+        return toShortViewDtos(events, true);
+    }
+
+    private List<EventShortDto> toShortViewDtos(List<EventShortView> events, boolean withViews) {
+        if (!withViews) {
+            return EventMapper.toShortViewDtos(events, Map.of());
+        }
+        return EventMapper.toShortViewDtos(events, eventViewService.getViews(events.stream()
+                .map(EventShortView::id)
+                .toList()));
+    }
+
+    private List<EventShortDto> toShortViewDtosByIds(List<Long> eventIds, boolean withViews) {
+        CompletableFuture<Map<Long, Long>> views = withViews
+                ? eventViewService.getViewsAsync(eventIds)
+                : CompletableFuture.completedFuture(Map.of());
+        List<EventShortView> events = findShortViewsByIds(eventIds);
+        return EventMapper.toShortViewDtos(events, join(views));
+    }
+
+    private Map<Long, Long> join(CompletableFuture<Map<Long, Long>> views) {
+        try {
+            return views.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private List<EventFullDto> toFullDtos(List<Event> events) {
+        return EventMapper.toFullDtos(events, getViews(events));
+    }
+
+    private EventFullDto toFullDto(Event event) {
+        return EventMapper.toFullDto(event, getViews(List.of(event)).getOrDefault(event.getId(), 0L));
     }
 
     private Map<Long, Long> getViews(List<Event> events) {
-        if (events.isEmpty()) {
-            return Map.of();
-        }
-        String end = LocalDateTime.now().format(FORMATTER);
-        Map<Long, Long> result = new HashMap<>();
-        for (Event event : events) {
-            String start = event.getPublishedOn() == null
-                    ? DEFAULT_START
-                    : event.getPublishedOn().format(FORMATTER);
-            String uri = "/events/" + event.getId();
-            List<ViewStatsDto> stats = statsClient.getStats(start, end, List.of(uri), true);
-            long hits = stats.stream()
-                    .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits))
-                    .getOrDefault(uri, 0L);
-            result.put(event.getId(), hits);
+        return eventViewService.getViews(events.stream()
+                .map(Event::getId)
+                .toList());
+    }
+
+    private CursorPage<EventShortDto> scrollShortViews(Specification<Event> specification, Sort sort, String cursor,
+                                                       int size) {
+        return scrollShortViews(specification, sort, cursor, size, true);
+    }
+
+    private CursorPage<EventShortDto> scrollShortViews(Specification<Event> specification, Sort sort, String cursor,
+                                                       int size, boolean withViews) {
+        Specification<Event> after = KeysetCursor.after(KeysetCursor.toPosition(cursor, sort), sort);
+        List<EventShortView> rows = eventRepository.findShortViews(specification.and(after),
+                PageRequest.of(0, size + 1, sort));
+        return KeysetCursor.toPage(rows, size, sort, EventShortView::sortKey)
+                .map(events -> toShortViewDtos(events, withViews));
+    }
+
+    private List<EventShortView> findShortViewsByIds(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventShortView> byId = eventRepository.findShortViews(
+                        (root, query, cb) -> cb.and(root.get("id").in(eventIds),
+                                cb.equal(root.get("state"), EventState.PUBLISHED)), Pageable.unpaged()).stream()
+                .collect(Collectors.toMap(EventShortView::id, Function.identity()));
+        return eventIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void publishChange(Event event, Long previousCategoryId, boolean wasPublished) {
+        Set<Long> categoryIds = new HashSet<>();
+        categoryIds.add(previousCategoryId);
+        categoryIds.add(event.getCategory().getId());
+        eventPublisher.publishEvent(new EventChange(Set.of(event.getId()), categoryIds,
+                wasPublished || event.getState() == EventState.PUBLISHED));
+    }
+
+    private Specification<Event> initiatedBy(long userId) {
+        return (root, query, cb) -> cb.equal(root.get("initiator").get("id"), userId);
+    }
+
+    private Window<Event> scroll(Specification<Event> specification, Sort sort, String cursor, int size) {
+        return eventRepository.findBy(specification, query -> query.sortBy(sort)
+                .project("category", "initiator")
+                .limit(size)
+                .scroll(KeysetCursor.toPosition(cursor, sort)));
+    }
+
+    private Specification<Event> buildAdminSpecification(List<Long> users, List<EventState> states,
+                                                         List<Long> categories, String rangeStart,
+                                                         String rangeEnd) {
+        LocalDateTime start = parseDate(rangeStart);
+        LocalDateTime end = parseDate(rangeEnd);
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new BadRequestException("Диапазон дат указан неверно.");
         }
-        return result;
+        return buildAdminSpecification(users, states, categories, start, end);
     }
 
     private Specification<Event> buildAdminSpecification(List<Long> users, List<EventState> states,
@@ -368,15 +680,103 @@ public class EventServiceImpl implements EventService {
         return specification;
     }
 
+    private DateRange resolvePublicRange(PublicEventSearchRequest request) {
+        LocalDateTime start = parseDate(request.getRangeStart());
+        LocalDateTime end = parseDate(request.getRangeEnd());
+        if (start != null && end != null && start.isAfter(end)) {
+            throw new BadRequestException("Диапазон дат указан неверно.");
+        }
+        if (start == null && end == null) {
+            start = LocalDateTime.now();
+        }
+        return new DateRange(start, end);
+    }
+
+    private Specification<Event> buildPublicSpecification(PublicEventSearchRequest request) {
+        DateRange range = resolvePublicRange(request);
+        Specification<Event> specification = buildPublicSpecification(request.getText(), request.getCategories(),
+                request.getPaid(), range.start(), range.end(), Boolean.TRUE.equals(request.getOnlyAvailable()));
+        if (hasGeoFilter(request)) {
+            specification = specification.and(withinRadius(request.getLat(), request.getLon(), request.getRadius()));
+        }
+        return specification;
+    }
+
+    private Set<EventFacet> parseFacets(List<String> facets) {
+        Set<EventFacet> result = EnumSet.noneOf(EventFacet.class);
+        for (String facet : facets) {
+            if (facet.isBlank()) {
+                continue;
+            }
+            try {
+                result.add(EventFacet.valueOf(facet.trim().toUpperCase()));
+            } catch (IllegalArgumentException exception) {
+                throw new BadRequestException("Неизвестный фасет: " + facet);
+            }
+        }
+        return result;
+    }
+
+    private void validateGeoFilter(PublicEventSearchRequest request) {
+        if (request.getLat() == null && request.getLon() == null && request.getRadius() == null) {
+            if (request.getSort() == EventSort.DISTANCE) {
+                throw new BadRequestException("Для сортировки по расстоянию нужны параметры lat, lon и radius.");
+            }
+            return;
+        }
+        if (request.getLat() == null || request.getLon() == null || request.getRadius() == null) {
+            throw new BadRequestException("Параметры lat, lon и radius задаются вместе.");
+        }
+    }
+
+    private boolean hasGeoFilter(PublicEventSearchRequest request) {
+        return request.getLat() != null && request.getLon() != null && request.getRadius() != null;
+    }
+
+    private Specification<Event> withinRadius(double lat, double lon, double radius) {
+        Set<String> prefixes = GeoHash.coveringPrefixes(lat, lon, radius);
+        return (root, query, cb) -> {
+            Predicate inRadius = cb.le(squaredDistance(root, cb, lat, lon), radius * radius);
+            if (prefixes.isEmpty()) {
+                return inRadius;
+            }
+            Predicate inCells = cb.or(prefixes.stream()
+                    .map(prefix -> cb.like(root.get("geohash"), prefix + "%"))
+                    .toArray(Predicate[]::new));
+            return cb.and(inCells, inRadius);
+        };
+    }
+
+    private Specification<Event> orderByDistance(double lat, double lon) {
+        return (root, query, cb) -> {
+            query.orderBy(cb.asc(squaredDistance(root, cb, lat, lon)), cb.asc(root.get("id")));
+            return null;
+        };
+    }
+
+    private Expression<Double> squaredDistance(Root<Event> root, CriteriaBuilder cb, double lat, double lon) {
+        Path<Location> location = root.get("location");
+        Expression<Double> dy = cb.prod(cb.diff(location.<Float>get("lat").as(Double.class), lat),
+                GeoHash.KM_PER_DEGREE_LAT);
+        Expression<Double> dx = cb.prod(cb.diff(location.<Float>get("lon").as(Double.class), lon),
+                GeoHash.KM_PER_DEGREE_LON * Math.cos(Math.toRadians(lat)));
+        return cb.sum(cb.prod(dy, dy), cb.prod(dx, dx));
+    }
+
     private Specification<Event> buildPublicSpecification(String text, List<Long> categories, Boolean paid,
-                                                          LocalDateTime start, LocalDateTime end) {
+                                                          LocalDateTime start, LocalDateTime end,
+                                                          boolean onlyAvailable) {
         Specification<Event> specification = Specification.where((root, query, cb) -> cb.equal(root.get("state"),
                 EventState.PUBLISHED));
         if (text != null && !text.isBlank()) {
-            String like = "%" + text.toLowerCase() + "%";
-            specification = specification.and((root, query, cb) -> cb.or(
-                    cb.like(cb.lower(root.get("annotation")), like),
-                    cb.like(cb.lower(root.get("description")), like)));
+            String searchQuery = toSearchQuery(text);
+            if (searchQuery.isEmpty()) {
+                specification = specification.and((root, query, cb) -> cb.disjunction());
+            } else {
+                specification = specification.and((root, query, cb) -> cb.isTrue(cb.function(
+                        EventSearchFunctions.MATCH, Boolean.class, root.get("title"), root.get("annotation"),
+                        root.get("description"), cb.literal(searchQuery))));
+            }
         }
         if (categories != null && !categories.isEmpty()) {
             specification = specification.and((root, query, cb) -> root.get("category").get("id").in(categories));
@@ -390,9 +790,30 @@ public class EventServiceImpl implements EventService {
         if (end != null) {
             specification = specification.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get(EVENT_DATE), end));
         }
+        if (onlyAvailable) {
+            specification = specification.and((root, query, cb) -> cb.or(
+                    cb.equal(root.get("participantLimit"), 0),
+                    cb.lessThan(root.get("confirmedRequests"), root.get("participantLimit"))));
+        }
         return specification;
     }
 
+    private Specification<Event> orderByRelevance(String text) {
+        String searchQuery = toSearchQuery(text);
+        return (root, query, cb) -> {
+            query.orderBy(cb.desc(cb.function(EventSearchFunctions.RANK, Double.class, root.get("title"),
+                    root.get("annotation"), root.get("description"), cb.literal(searchQuery))), cb.asc(root.get("id")));
+            return null;
+        };
+    }
+
+    private String toSearchQuery(String text) {
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
     private LocalDateTime parseDate(String date) {
         if (date == null || date.isBlank()) {
             return null;
@@ -412,14 +833,21 @@ public class EventServiceImpl implements EventService {
 
 
     private Event getEventWithInitiatorCheck(long userId, long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> eventNotFound(eventId));
         if (!event.getInitiator().getId().equals(userId)) {
             throw new ForbiddenException(NOT_INITIATOR);
         }
         return event;
     }
 
+    private RuntimeException eventNotFound(long eventId) {
+        if (eventRepository.existsArchivedById(eventId)) {
+            return new ConflictException(String.format(EVENT_ARCHIVED, eventId));
+        }
+        return new NotFoundException(String.format(EVENT_NOT_FOUND, eventId));
+    }
+
     private void validatePendingRequests(long eventId, List<ParticipationRequest> requests) {
         for (ParticipationRequest participationRequest : requests) {
             if (!participationRequest.getEvent().getId().equals(eventId)) {
@@ -496,4 +924,7 @@ public class EventServiceImpl implements EventService {
         }
 
     }
+
+    private record DateRange(LocalDateTime start, LocalDateTime end) {
+    }
 }
\ No newline at end of file
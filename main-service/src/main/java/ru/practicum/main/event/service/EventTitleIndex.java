@@ -0,0 +1,163 @@
+package ru.practicum.main.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main.event.dto.EventSuggestionDto;
+import ru.practicum.main.event.enums.EventState;
+import ru.practicum.main.event.model.EventTitle;
+import ru.practicum.main.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Индекс подсказок по названиям опубликованных предстоящих событий. Для каждого названия хранятся все его
+ * хвосты, начинающиеся с границы слова, в отсортированном массиве, поэтому префикс находится бинарным поиском
+ * с любого слова. Снимок неизменяемый: изменения событий сразу попадают в карту названий, а снимок
+ * перестраивается из нее не чаще раза в ewm.suggest.rebuild-delay, так что пачка изменений стоит одной сортировки.
+ * Периодическая полная перезагрузка подтягивает просмотры и убирает прошедшие события.
+ */
+@Slf4j
+@Component
+public class EventTitleIndex {
+    private final EventRepository eventRepository;
+    private final Map<Long, EventTitle> titles = new HashMap<>();
+    private boolean dirty;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public EventTitleIndex(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public List<EventSuggestionDto> suggest(String prefix, int size) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return snapshot.suggest(normalized, size);
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.suggest.reload-interval:PT5M}")
+    public void reload() {
+        List<EventTitle> loaded = eventRepository.findTitles(EventState.PUBLISHED, LocalDateTime.now());
+        synchronized (titles) {
+            titles.clear();
+            loaded.forEach(title -> titles.put(title.id(), title));
+            snapshot = Snapshot.of(titles.values());
+            dirty = false;
+        }
+        log.debug("Индекс подсказок перестроен, событий: {}.", loaded.size());
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        List<EventTitle> loaded = eventRepository.findTitles(change.eventIds(), EventState.PUBLISHED,
+                LocalDateTime.now());
+        synchronized (titles) {
+            boolean changed = false;
+            for (Long eventId : change.eventIds()) {
+                changed |= titles.remove(eventId) != null;
+            }
+            for (EventTitle title : loaded) {
+                titles.put(title.id(), title);
+                changed = true;
+            }
+            dirty |= changed;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.suggest.rebuild-delay:PT1S}")
+    public void rebuild() {
+        synchronized (titles) {
+            if (dirty) {
+                snapshot = Snapshot.of(titles.values());
+                dirty = false;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], new EventTitle[0]);
+
+        private final String[] keys;
+        private final int[] owners;
+        private final EventTitle[] events;
+
+        private Snapshot(String[] keys, int[] owners, EventTitle[] events) {
+            this.keys = keys;
+            this.owners = owners;
+            this.events = events;
+        }
+
+        private static Snapshot of(Iterable<EventTitle> titles) {
+            List<EventTitle> events = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            List<Integer> owners = new ArrayList<>();
+            for (EventTitle title : titles) {
+                int owner = events.size();
+                events.add(title);
+                String normalized = normalize(title.title());
+                int start = 0;
+                while (start >= 0) {
+                    keys.add(normalized.substring(start));
+                    owners.add(owner);
+                    int space = normalized.indexOf(' ', start);
+                    start = space < 0 ? -1 : space + 1;
+                }
+            }
+            Integer[] order = new Integer[keys.size()];
+            Arrays.setAll(order, i -> i);
+            Arrays.sort(order, Comparator.comparing(keys::get));
+            String[] sortedKeys = new String[order.length];
+            int[] sortedOwners = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedKeys[i] = keys.get(order[i]);
+                sortedOwners[i] = owners.get(order[i]);
+            }
+            return new Snapshot(sortedKeys, sortedOwners, events.toArray(new EventTitle[0]));
+        }
+
+        private List<EventSuggestionDto> suggest(String prefix, int size) {
+            int position = Arrays.binarySearch(keys, prefix);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            Comparator<EventTitle> byViews = Comparator.comparingLong(EventTitle::views)
+                    .thenComparing(EventTitle::id, Comparator.reverseOrder());
+            PriorityQueue<EventTitle> top = new PriorityQueue<>(size + 1, byViews);
+            Set<Integer> seen = new HashSet<>();
+            for (int i = position; i < keys.length && keys[i].startsWith(prefix); i++) {
+                if (seen.add(owners[i])) {
+                    top.add(events[owners[i]]);
+                    if (top.size() > size) {
+                        top.poll();
+                    }
+                }
+            }
+            List<EventSuggestionDto> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                EventTitle title = top.poll();
+                result.add(EventSuggestionDto.builder()
+                        .id(title.id())
+                        .title(title.title())
+                        .build());
+            }
+            return result.reversed();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.main.event.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public interface EventViewService {
+    Map<Long, Long> getViews(Collection<Long> eventIds);
+
+    CompletableFuture<Map<Long, Long>> getViewsAsync(Collection<Long> eventIds);
+
+    void recordHit(HttpServletRequest request);
+
+    /**
+     * Записывает просмотр карточки события и возвращает число просмотров с учетом этого хита.
+     */
+    long recordView(long eventId, HttpServletRequest request);
+
+    void recordHits(Collection<Long> eventIds, HttpServletRequest request);
+}
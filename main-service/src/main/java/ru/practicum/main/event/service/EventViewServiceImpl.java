@@ -0,0 +1,196 @@
+package ru.practicum.main.event.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import ru.practicum.stats.StatsClient;
+import ru.practicum.stats.StatsUnavailableException;
+import ru.practicum.stats.dto.ViewStatsDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static ru.practicum.main.utility.Constant.DEFAULT_START;
+import static ru.practicum.main.utility.Constant.FORMATTER;
+
+@Service
+public class EventViewServiceImpl implements EventViewService {
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d+)");
+
+    private final StatsClient statsClient;
+    private final Timer refreshTimer;
+    private final AsyncLoadingCache<Long, ViewCount> cache;
+
+    public EventViewServiceImpl(StatsClient statsClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${ewm.views-cache.maximum-size:10000}") long maximumSize,
+                                @Value("${ewm.views-cache.refresh-after:10s}") Duration refreshAfter,
+                                @Value("${ewm.views-cache.expire-after:5m}") Duration expireAfter) {
+        this.statsClient = statsClient;
+        this.refreshTimer = Timer.builder("ewm.views.refresh")
+                .description("Время загрузки просмотров из сервиса статистики")
+                .register(meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .buildAsync(new ViewCountLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "eventViews");
+    }
+
+    @Override
+    public Map<Long, Long> getViews(Collection<Long> eventIds) {
+        try {
+            return getViewsAsync(eventIds).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Long>> getViewsAsync(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return cache.getAll(eventIds)
+                .thenApply(this::toViews)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (!(cause instanceof StatsUnavailableException)) {
+                        throw error instanceof CompletionException completion
+                                ? completion
+                                : new CompletionException(error);
+                    }
+                    Map<Long, ViewCount> cached = cache.synchronous().getAllPresent(eventIds);
+                    Map<Long, Long> result = new HashMap<>();
+                    for (Long eventId : eventIds) {
+                        ViewCount viewCount = cached.get(eventId);
+                        result.put(eventId, viewCount == null ? 0L : viewCount.value());
+                    }
+                    return result;
+                });
+    }
+
+    @Override
+    public void recordHit(HttpServletRequest request) {
+        statsClient.addHit(request);
+        Matcher matcher = EVENT_URI.matcher(request.getRequestURI());
+        if (matcher.matches()) {
+            bump(Long.parseLong(matcher.group(1)), request.getRemoteAddr());
+        }
+    }
+
+    @Override
+    public long recordView(long eventId, HttpServletRequest request) {
+        statsClient.addHit(request);
+        getViews(List.of(eventId));
+        ViewCount viewCount = cache.synchronous().policy().getIfPresentQuietly(eventId);
+        if (viewCount == null) {
+            return 0L;
+        }
+        viewCount.bump(request.getRemoteAddr());
+        return viewCount.value();
+    }
+
+    @Override
+    public void recordHits(Collection<Long> eventIds, HttpServletRequest request) {
+        for (Long eventId : eventIds) {
+            statsClient.addHit("/events/" + eventId, request.getRemoteAddr());
+            bump(eventId, request.getRemoteAddr());
+        }
+    }
+
+    private void bump(long eventId, String ip) {
+        ViewCount viewCount = cache.synchronous().policy().getIfPresentQuietly(eventId);
+        if (viewCount != null) {
+            viewCount.bump(ip);
+        }
+    }
+
+    private Map<Long, Long> toViews(Map<Long, ViewCount> viewCounts) {
+        Map<Long, Long> result = new HashMap<>();
+        viewCounts.forEach((eventId, viewCount) -> result.put(eventId, viewCount.value()));
+        return result;
+    }
+
+    private CompletableFuture<Map<Long, ViewCount>> load(Set<? extends Long> eventIds) {
+        Timer.Sample sample = Timer.start();
+        List<String> uris = eventIds.stream()
+                .map(eventId -> "/events/" + eventId)
+                .toList();
+        String end = LocalDateTime.now().format(FORMATTER);
+        return statsClient.getStatsAsync(DEFAULT_START, end, uris, true)
+                .thenApply(stats -> {
+                    Map<String, Long> hitsByUri = stats.stream()
+                            .collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
+                    Map<Long, ViewCount> result = new HashMap<>();
+                    for (Long eventId : eventIds) {
+                        result.put(eventId, new ViewCount(hitsByUri.getOrDefault("/events/" + eventId, 0L)));
+                    }
+                    return result;
+                })
+                .whenComplete((result, error) -> sample.stop(refreshTimer));
+    }
+
+    private class ViewCountLoader implements AsyncCacheLoader<Long, ViewCount> {
+        @Override
+        public CompletableFuture<ViewCount> asyncLoad(Long eventId, Executor executor) {
+            return load(Set.of(eventId)).thenApply(result -> result.get(eventId));
+        }
+
+        @Override
+        public CompletableFuture<Map<Long, ViewCount>> asyncLoadAll(Set<? extends Long> eventIds,
+                                                                    Executor executor) {
+            return load(eventIds);
+        }
+    }
+
+    /**
+     * Уникальные просмотры из сервиса статистики плюс оптимистичная поправка за хиты после загрузки.
+     * Сервис статистики не отдает список IP, поэтому посетитель, уже учтенный в loaded, может быть
+     * добавлен повторно: значение - верхняя граница, не больше одного прироста на IP за окно обновления.
+     * При обновлении запись заменяется свежей и поправка сбрасывается, так что расхождение не копится.
+     */
+    private static class ViewCount {
+        private static final int MAX_PENDING_IPS = 10_000;
+
+        private final long loaded;
+        private final Set<String> pendingIps = ConcurrentHashMap.newKeySet();
+
+        private ViewCount(long loaded) {
+            this.loaded = loaded;
+        }
+
+        private void bump(String ip) {
+            if (pendingIps.size() < MAX_PENDING_IPS) {
+                pendingIps.add(ip);
+            }
+        }
+
+        private long value() {
+            return loaded + pendingIps.size();
+        }
+    }
+}
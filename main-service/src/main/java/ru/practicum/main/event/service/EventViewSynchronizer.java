@@ -0,0 +1,89 @@
+package ru.practicum.main.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.stats.StatsClient;
+import ru.practicum.stats.StatsUnavailableException;
+import ru.practicum.stats.dto.ViewStatsDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static ru.practicum.main.utility.Constant.DEFAULT_START;
+import static ru.practicum.main.utility.Constant.FORMATTER;
+
+/**
+ * Периодически переносит просмотры из сервиса статистики в колонку events.views,
+ * чтобы сортировка по просмотрам и пагинация выполнялись в базе.
+ * Первый проход пересчитывает все события, дальше пересчитываются только события, которые просматривали
+ * после отметки синхронизации. Окно начинается раньше на ewm.views-sync.lag, чтобы учесть хиты,
+ * дошедшие до сервиса статистики с задержкой. Отметка сдвигается, только если к началу прохода очередь
+ * хитов была пуста: хиты, накопленные во время недоступности сервиса статистики, уходят туда со старыми
+ * временными метками и попадают в окно после доставки.
+ */
+@Slf4j
+@Component
+public class EventViewSynchronizer {
+    private static final Pattern EVENT_URI = Pattern.compile("/events/(\\d+)");
+    private static final String UPDATE_VIEWS = "update events set views = ? where id = ? and views <> ?";
+    private static final int URIS_BATCH_SIZE = 100;
+
+    private final StatsClient statsClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration lag;
+    private LocalDateTime watermark;
+
+    public EventViewSynchronizer(StatsClient statsClient,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${ewm.views-sync.lag:5m}") Duration lag) {
+        this.statsClient = statsClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lag = lag;
+    }
+
+    @Scheduled(initialDelayString = "${ewm.views-sync.initial-delay:PT10S}",
+            fixedDelayString = "${ewm.views-sync.interval:PT1M}")
+    public void synchronize() {
+        LocalDateTime now = LocalDateTime.now();
+        String end = now.format(FORMATTER);
+        boolean delivered = !statsClient.hasPendingHits();
+        List<ViewStatsDto> stats = new ArrayList<>();
+        try {
+            if (watermark == null) {
+                stats.addAll(statsClient.getStatsInBackground(DEFAULT_START, end, null, true));
+            } else {
+                String windowStart = watermark.minus(lag).format(FORMATTER);
+                List<String> uris = statsClient.getStatsInBackground(windowStart, end, null, true).stream()
+                        .map(ViewStatsDto::getUri)
+                        .filter(uri -> EVENT_URI.matcher(uri).matches())
+                        .toList();
+                for (int from = 0; from < uris.size(); from += URIS_BATCH_SIZE) {
+                    List<String> batch = uris.subList(from, Math.min(from + URIS_BATCH_SIZE, uris.size()));
+                    stats.addAll(statsClient.getStatsInBackground(DEFAULT_START, end, batch, true));
+                }
+            }
+        } catch (StatsUnavailableException exception) {
+            log.warn("Не удалось синхронизировать просмотры событий: {}", exception.getMessage());
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        for (ViewStatsDto viewStats : stats) {
+            Matcher matcher = EVENT_URI.matcher(viewStats.getUri());
+            if (matcher.matches()) {
+                long eventId = Long.parseLong(matcher.group(1));
+                updates.add(new Object[]{viewStats.getHits(), eventId, viewStats.getHits()});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_VIEWS, updates);
+        if (delivered) {
+            watermark = now;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.main.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.main.event.dto.EventShortDto;
+import ru.practicum.main.event.mapper.EventMapper;
+import ru.practicum.main.event.model.EventShortView;
+import ru.practicum.main.event.repository.EventRepository;
+import ru.practicum.main.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Рейтинг популярных предстоящих событий по категориям: по просмотрам, затем по подтвержденным заявкам.
+ * Пересчитывается в фоне и целиком хранится в памяти, запрос к нему не обращается к базе.
+ * В рейтинге каждой категории хранится ewm.popular.size событий, больший размер страницы отклоняется.
+ */
+@Slf4j
+@Component
+public class PopularEventsBoard {
+    private static final String SELECT_TOP = "select id from (select e.id, row_number() over ("
+            + "partition by e.category_id order by e.views desc, e.confirmed_requests desc, e.id) as position "
+            + "from events e where e.state = 'PUBLISHED' and e.event_date > :now) ranked "
+            + "where ranked.position <= :limit";
+    private static final Comparator<EventShortDto> BY_POPULARITY = Comparator
+            .comparingLong(EventShortDto::getViews).reversed()
+            .thenComparing(Comparator.comparingLong(EventShortDto::getConfirmedRequests).reversed())
+            .thenComparing(EventShortDto::getId);
+
+    private final EventRepository eventRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int limit;
+    private volatile Board board = new Board(Map.of(), List.of());
+
+    public PopularEventsBoard(EventRepository eventRepository,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              @Value("${ewm.popular.size:10}") int limit) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.limit = limit;
+    }
+
+    public List<EventShortDto> get(Long categoryId, int size) {
+        if (size > limit) {
+            throw new BadRequestException(String.format("Размер рейтинга не может быть больше %d.", limit));
+        }
+        Board current = board;
+        List<EventShortDto> events = categoryId == null
+                ? current.overall()
+                : current.byCategory().getOrDefault(categoryId, List.of());
+        return events.subList(0, Math.min(size, events.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.popular.refresh-interval:PT1M}")
+    public void refresh() {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_TOP, new MapSqlParameterSource()
+                .addValue("now", LocalDateTime.now())
+                .addValue("limit", limit), Long.class);
+        List<EventShortView> views = ids.isEmpty()
+                ? List.of()
+                : eventRepository.findShortViews((root, query, cb) -> root.get("id").in(ids), Pageable.unpaged());
+        Map<Long, List<EventShortDto>> byCategory = new HashMap<>();
+        views.stream()
+                .map(view -> EventMapper.toShortDto(view, view.views()))
+                .collect(Collectors.groupingBy(event -> event.getCategory().getId()))
+                .forEach((categoryId, events) -> byCategory.put(categoryId, events.stream()
+                        .sorted(BY_POPULARITY)
+                        .toList()));
+        List<EventShortDto> overall = byCategory.values().stream()
+                .flatMap(List::stream)
+                .sorted(BY_POPULARITY)
+                .limit(limit)
+                .toList();
+        board = new Board(Map.copyOf(byCategory), overall);
+        log.debug("Рейтинг популярных событий пересчитан, категорий: {}.", byCategory.size());
+    }
+
+    private record Board(Map<Long, List<EventShortDto>> byCategory, List<EventShortDto> overall) {
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.main.event.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main.event.dto.EventFullDto;
+import ru.practicum.main.event.enums.EventState;
+import ru.practicum.main.event.mapper.EventMapper;
+import ru.practicum.main.event.repository.EventRepository;
+
+import java.time.Duration;
+
+/**
+ * Кэш карточек опубликованных событий. Хранит только поля, которые меняются вместе с событием;
+ * счетчики заявок и просмотров подставляются в каждый ответ. При изменении события администратором
+ * или инициатором запись удаляется.
+ */
+@Component
+public class PublicEventCache {
+    private final EventRepository eventRepository;
+    private final LoadingCache<Long, EventFullDto> cache;
+
+    public PublicEventCache(EventRepository eventRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${ewm.event-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${ewm.event-cache.expire-after:10m}") Duration expireAfter) {
+        this.eventRepository = eventRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build(new EventLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "publicEvent");
+    }
+
+    public EventFullDto get(long eventId) {
+        return cache.get(eventId);
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        cache.invalidateAll(change.eventIds());
+    }
+
+    private class EventLoader implements CacheLoader<Long, EventFullDto> {
+        @Override
+        public EventFullDto load(Long eventId) {
+            return eventRepository.findById(eventId)
+                    .or(() -> eventRepository.findArchivedById(eventId))
+                    .filter(event -> event.getState() == EventState.PUBLISHED)
+                    .map(EventMapper::toFullDto)
+                    .orElse(null);
+        }
+    }
+}
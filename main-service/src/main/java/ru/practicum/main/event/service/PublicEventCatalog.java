@@ -0,0 +1,183 @@
+package ru.practicum.main.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main.event.enums.EventState;
+import ru.practicum.main.event.model.EventCatalogEntry;
+import ru.practicum.main.event.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Каталог опубликованных предстоящих событий в памяти для публичного поиска без текста.
+ * События лежат в колонках, отсортированных по дате и id: диапазон дат находится бинарным поиском,
+ * фильтры по категориям и платности - пересечением битовых множеств. Возвращаются только id,
+ * строки ответа подтягиваются из базы. Запросы с датой раньше момента загрузки каталог не обслуживает.
+ * Изменения событий сразу попадают в карту записей, а снимок перестраивается из нее не чаще раза
+ * в ewm.catalog.rebuild-delay.
+ */
+@Slf4j
+@Component
+public class PublicEventCatalog {
+    private final EventRepository eventRepository;
+    private final Map<Long, EventCatalogEntry> entries = new HashMap<>();
+    private boolean dirty;
+    private volatile Snapshot snapshot;
+
+    public PublicEventCatalog(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    public Optional<List<Long>> search(List<Long> categories, Boolean paid, LocalDateTime start, LocalDateTime end,
+                                       int from, int size) {
+        Snapshot current = snapshot;
+        if (current == null || start == null || start.isBefore(current.loadedFrom)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.search(categories, paid, start, end, from, size));
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.catalog.reload-interval:PT5M}")
+    public void reload() {
+        LocalDateTime loadedFrom = LocalDateTime.now();
+        List<EventCatalogEntry> loaded = eventRepository.findCatalogEntries(EventState.PUBLISHED, loadedFrom);
+        synchronized (entries) {
+            entries.clear();
+            loaded.forEach(entry -> entries.put(entry.id(), entry));
+            snapshot = Snapshot.of(entries.values(), loadedFrom);
+            dirty = false;
+        }
+        log.debug("Каталог событий перестроен, событий: {}.", loaded.size());
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        List<EventCatalogEntry> loaded = eventRepository.findCatalogEntries(change.eventIds(),
+                EventState.PUBLISHED, LocalDateTime.now());
+        synchronized (entries) {
+            if (snapshot == null) {
+                return;
+            }
+            boolean changed = false;
+            for (Long eventId : change.eventIds()) {
+                changed |= entries.remove(eventId) != null;
+            }
+            for (EventCatalogEntry entry : loaded) {
+                entries.put(entry.id(), entry);
+                changed = true;
+            }
+            dirty |= changed;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ewm.catalog.rebuild-delay:PT1S}")
+    public void rebuild() {
+        synchronized (entries) {
+            if (dirty) {
+                snapshot = Snapshot.of(entries.values(), snapshot.loadedFrom);
+                dirty = false;
+            }
+        }
+    }
+
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static final class Snapshot {
+        private final LocalDateTime loadedFrom;
+        private final long[] ids;
+        private final long[] eventDates;
+        private final Map<Long, BitSet> categories;
+        private final BitSet paid;
+
+        private Snapshot(LocalDateTime loadedFrom, long[] ids, long[] eventDates, Map<Long, BitSet> categories,
+                         BitSet paid) {
+            this.loadedFrom = loadedFrom;
+            this.ids = ids;
+            this.eventDates = eventDates;
+            this.categories = categories;
+            this.paid = paid;
+        }
+
+        private static Snapshot of(Iterable<EventCatalogEntry> entries, LocalDateTime loadedFrom) {
+            List<EventCatalogEntry> sorted = new ArrayList<>();
+            entries.forEach(sorted::add);
+            sorted.sort(Comparator.comparing(EventCatalogEntry::eventDate).thenComparing(EventCatalogEntry::id));
+            long[] ids = new long[sorted.size()];
+            long[] eventDates = new long[sorted.size()];
+            Map<Long, BitSet> categories = new HashMap<>();
+            BitSet paid = new BitSet(sorted.size());
+            for (int i = 0; i < sorted.size(); i++) {
+                EventCatalogEntry entry = sorted.get(i);
+                ids[i] = entry.id();
+                eventDates[i] = toEpochMicros(entry.eventDate());
+                categories.computeIfAbsent(entry.categoryId(), categoryId -> new BitSet(ids.length)).set(i);
+                if (entry.paid()) {
+                    paid.set(i);
+                }
+            }
+            return new Snapshot(loadedFrom, ids, eventDates, categories, paid);
+        }
+
+        private List<Long> search(List<Long> categoryIds, Boolean paidFilter, LocalDateTime start, LocalDateTime end,
+                                  int from, int size) {
+            int lower = lowerBound(toEpochMicros(start));
+            int upper = end == null ? ids.length : lowerBound(toEpochMicros(end) + 1);
+            if (lower >= upper) {
+                return List.of();
+            }
+            BitSet matches = new BitSet(ids.length);
+            if (categoryIds == null || categoryIds.isEmpty()) {
+                matches.set(lower, upper);
+            } else {
+                for (Long categoryId : categoryIds) {
+                    BitSet category = categories.get(categoryId);
+                    if (category != null) {
+                        matches.or(category);
+                    }
+                }
+            }
+            if (Boolean.TRUE.equals(paidFilter)) {
+                matches.and(paid);
+            } else if (Boolean.FALSE.equals(paidFilter)) {
+                matches.andNot(paid);
+            }
+            List<Long> result = new ArrayList<>(size);
+            int skipped = 0;
+            for (int i = matches.nextSetBit(lower); i >= 0 && i < upper && result.size() < size;
+                 i = matches.nextSetBit(i + 1)) {
+                if (skipped < from) {
+                    skipped++;
+                } else {
+                    result.add(ids[i]);
+                }
+            }
+            return result;
+        }
+
+        private int lowerBound(long eventDate) {
+            int low = 0;
+            int high = eventDates.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (eventDates[middle] < eventDate) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.main.event.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.main.event.dto.PublicEventSearchRequest;
+import ru.practicum.main.event.enums.EventSort;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Кэш результатов публичного поиска событий: по нормализованным параметрам хранит только список id,
+ * счетчики подтвержденных заявок и просмотров подтягиваются при каждом ответе.
+ */
+@Component
+public class PublicEventSearchCache {
+    private final Cache<Key, List<Long>> cache;
+    private final Counter invalidations;
+
+    public PublicEventSearchCache(MeterRegistry meterRegistry,
+                                  @Value("${ewm.search-cache.maximum-size:1000}") long maximumSize,
+                                  @Value("${ewm.search-cache.expire-after:30s}") Duration expireAfter) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+        this.invalidations = Counter.builder("ewm.search-cache.invalidations")
+                .description("Записи кэша поиска, сброшенные из-за изменения событий")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "publicEventSearch");
+    }
+
+    public List<Long> get(PublicEventSearchRequest request) {
+        return cache.getIfPresent(Key.of(request));
+    }
+
+    public void put(PublicEventSearchRequest request, List<Long> eventIds) {
+        cache.put(Key.of(request), List.copyOf(eventIds));
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChange change) {
+        if (!change.published()) {
+            return;
+        }
+        cache.asMap().keySet().removeIf(key -> {
+            boolean affected = key.categories() == null
+                    || key.categories().stream().anyMatch(change.categoryIds()::contains);
+            if (affected) {
+                invalidations.increment();
+            }
+            return affected;
+        });
+    }
+
+    private record Key(String text, List<Long> categories, Boolean paid, String rangeStart, String rangeEnd,
+                       boolean onlyAvailable, Double lat, Double lon, Double radius, EventSort sort, int from,
+                       int size) {
+
+        private static Key of(PublicEventSearchRequest request) {
+            String text = request.getText() == null || request.getText().isBlank()
+                    ? null
+                    : request.getText().trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+            List<Long> categories = request.getCategories() == null || request.getCategories().isEmpty()
+                    ? null
+                    : request.getCategories().stream().distinct().sorted().toList();
+            EventSort sort = request.getSort() == null ? EventSort.EVENT_DATE : request.getSort();
+            int from = request.getFrom() / request.getSize() * request.getSize();
+            return new Key(text, categories, request.getPaid(), blankToNull(request.getRangeStart()),
+                    blankToNull(request.getRangeEnd()), Boolean.TRUE.equals(request.getOnlyAvailable()),
+                    request.getLat(), request.getLon(), request.getRadius(), sort, from, request.getSize());
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.main.exception;
 
+import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -50,6 +52,26 @@ public class ApiExceptionHandler {
         return buildResponse(message, "Некорректный запрос.", HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiError> handleValidation(HandlerMethodValidationException exception) {
+        String message = exception.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> "Параметр: " + result.getMethodParameter().getParameterName()
+                                + ". Ошибка: " + error.getDefaultMessage()))
+                .findFirst()
+                .orElse("Ошибка валидации.");
+        return buildResponse(message, "Некорректный запрос.", HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ApiError> handleValidation(ConstraintViolationException exception) {
+        String message = exception.getConstraintViolations().stream()
+                .findFirst()
+                .map(violation -> "Параметр: " + violation.getPropertyPath() + ". Ошибка: " + violation.getMessage())
+                .orElse("Ошибка валидации.");
+        return buildResponse(message, "Некорректный запрос.", HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ApiError> handleMissingRequestParam(MissingServletRequestParameterException exception) {
         String message = "Отсутствует обязательный параметр: " + exception.getParameterName();
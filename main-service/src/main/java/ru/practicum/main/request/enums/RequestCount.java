@@ -1,7 +0,0 @@
-package ru.practicum.main.request.enums;
-
-public interface RequestCount {
-    Long getEventId();
-
-    Long getTotal();
-}
\ No newline at end of file
@@ -3,7 +3,6 @@ package ru.practicum.main.request.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.main.request.enums.RequestCount;
 import ru.practicum.main.request.enums.RequestStatus;
 import ru.practicum.main.request.model.ParticipationRequest;
 
@@ -21,12 +20,13 @@ public interface ParticipationRequestRepository extends JpaRepository<Participat
 
     boolean existsByRequesterIdAndEventId(Long requesterId, Long eventId);
 
-    long countByEventIdAndStatus(Long eventId, RequestStatus status);
+    @Query(value = "select * from requests_archive where event_id = :eventId", nativeQuery = true)
+    List<ParticipationRequest> findArchivedByEventId(@Param("eventId") Long eventId);
 
-    @Query("select r.event.id as eventId, count(r.id) as total "
-            + "from ParticipationRequest r "
-            + "where r.event.id in :eventIds and r.status = :status "
-            + "group by r.event.id")
-    List<RequestCount> countByEventIdsAndStatus(@Param("eventIds") List<Long> eventIds,
-                                                @Param("status") RequestStatus status);
+    @Query(value = "select * from requests_archive where requester_id = :requesterId", nativeQuery = true)
+    List<ParticipationRequest> findArchivedByRequesterId(@Param("requesterId") Long requesterId);
+
+    @Query(value = "select exists (select 1 from requests_archive where id = :id and requester_id = :requesterId)",
+            nativeQuery = true)
+    boolean existsArchivedByIdAndRequesterId(@Param("id") Long id, @Param("requesterId") Long requesterId);
 }
\ No newline at end of file
@@ -16,8 +16,11 @@ import ru.practicum.main.user.model.User;
 import ru.practicum.main.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import static ru.practicum.main.utility.Constant.EVENT_ARCHIVED;
 import static ru.practicum.main.utility.Constant.EVENT_NOT_FOUND;
+import static ru.practicum.main.utility.Constant.REQUEST_ARCHIVED;
 import static ru.practicum.main.utility.Constant.USER_NOT_FOUND;
 
 @Service
@@ -39,7 +42,8 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     @Transactional(readOnly = true)
     public List<ParticipationRequestDto> getUserRequests(long userId) {
         ensureUserExists(userId);
-        return requestRepository.findByRequesterId(userId).stream()
+        return Stream.concat(requestRepository.findByRequesterId(userId).stream(),
+                        requestRepository.findArchivedByRequesterId(userId).stream())
                 .map(ParticipationRequestMapper::toDto)
                 .toList();
     }
@@ -48,8 +52,10 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     public ParticipationRequestDto addRequest(long userId, long eventId) {
         User requester = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_FOUND, userId)));
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
+        Event event = eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> eventRepository.existsArchivedById(eventId)
+                        ? new ConflictException(String.format(EVENT_ARCHIVED, eventId))
+                        : new NotFoundException(String.format(EVENT_NOT_FOUND, eventId)));
 
         if (event.getInitiator().getId().equals(userId)) {
             throw new ConflictException("Нельзя подать заявку на свое событие.");
@@ -60,14 +66,14 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
         if (requestRepository.existsByRequesterIdAndEventId(userId, eventId)) {
             throw new ConflictException("Нельзя добавить повторный запрос.");
         }
-        long confirmed = requestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED);
-        if (event.getParticipantLimit() > 0 && confirmed >= event.getParticipantLimit()) {
+        if (event.getParticipantLimit() > 0 && event.getConfirmedRequests() >= event.getParticipantLimit()) {
             throw new ConflictException("Достигнут лимит участников.");
         }
 
         RequestStatus status;
         if (!event.isRequestModeration() || event.getParticipantLimit() == 0) {
             status = RequestStatus.CONFIRMED;
+            event.setConfirmedRequests(event.getConfirmedRequests() + 1);
         } else {
             status = RequestStatus.PENDING;
         }
@@ -82,7 +88,15 @@ public class ParticipationRequestServiceImpl implements ParticipationRequestServ
     @Override
     public ParticipationRequestDto cancelRequest(long userId, long requestId) {
         ParticipationRequest request = requestRepository.findByIdAndRequesterId(requestId, userId)
-                .orElseThrow(() -> new NotFoundException("Запрос с id=" + requestId + " не найден."));
+                .orElseThrow(() -> requestRepository.existsArchivedByIdAndRequesterId(requestId, userId)
+                        ? new ConflictException(String.format(REQUEST_ARCHIVED, requestId))
+                        : new NotFoundException("Запрос с id=" + requestId + " не найден."));
+        if (request.getStatus() == RequestStatus.CONFIRMED) {
+            Event event = eventRepository.findByIdForUpdate(request.getEvent().getId())
+                    .orElseThrow(() -> new NotFoundException(String.format(EVENT_NOT_FOUND,
+                            request.getEvent().getId())));
+            event.setConfirmedRequests(event.getConfirmedRequests() - 1);
+        }
         request.setStatus(RequestStatus.CANCELED);
         return ParticipationRequestMapper.toDto(requestRepository.save(request));
     }
@@ -2,6 +2,7 @@ package ru.practicum.main.user.service;
 
 import ru.practicum.main.user.model.NewUserRequest;
 import ru.practicum.main.user.dto.UserDto;
+import ru.practicum.main.utility.CursorPage;
 
 import java.util.List;
 
@@ -10,5 +11,7 @@ public interface UserService {
 
     List<UserDto> getUsers(List<Long> ids, int from, int size);
 
+    CursorPage<UserDto> getUsers(List<Long> ids, String cursor, int size);
+
     void delete(long id);
 }
\ No newline at end of file
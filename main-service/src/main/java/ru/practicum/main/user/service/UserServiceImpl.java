@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.main.exception.BadRequestException;
@@ -14,6 +16,8 @@ import ru.practicum.main.user.model.User;
 import ru.practicum.main.user.dto.UserDto;
 import ru.practicum.main.user.mapper.UserMapper;
 import ru.practicum.main.user.repository.UserRepository;
+import ru.practicum.main.utility.CursorPage;
+import ru.practicum.main.utility.KeysetCursor;
 
 import java.util.List;
 
@@ -52,6 +56,22 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsers(List<Long> ids, String cursor, int size) {
+        Specification<User> specification = Specification.where(null);
+        if (ids != null && !ids.isEmpty()) {
+            specification = specification.and((root, query, cb) -> root.get("id").in(ids));
+        }
+        Sort sort = Sort.by("id");
+        Window<User> window = repository.findBy(specification, query -> query.sortBy(sort)
+                .limit(size)
+                .scroll(KeysetCursor.toPosition(cursor, sort)));
+        return KeysetCursor.toPage(window).map(users -> users.stream()
+                .map(UserMapper::toDto)
+                .toList());
+    }
+
     @Override
     public void delete(long id) {
         if (!repository.existsById(id)) {
@@ -14,6 +14,10 @@ public final class Constant {
 
     public static final String EVENT_NOT_FOUND = "Событие с id=%d не найдено.";
 
+    public static final String EVENT_ARCHIVED = "Событие с id=%d перенесено в архив и не может быть изменено.";
+
+    public static final String REQUEST_ARCHIVED = "Запрос с id=%d относится к событию в архиве и не может быть изменен.";
+
     public static final String CATEGORY_NOT_FOUND = "Категория с id=%d не найдена.";
 
     public static final String COMPILATION_NOT_FOUND = "Подборка с id=%d не найдена.";
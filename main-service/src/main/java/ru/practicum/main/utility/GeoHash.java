@@ -0,0 +1,102 @@
+package ru.practicum.main.utility;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Кодирование координат в geohash и подбор ячеек, покрывающих круг поиска.
+ * Расстояния считаются в километрах по равнопромежуточной проекции, что достаточно точно для радиусов
+ * в пределах города и области.
+ */
+public final class GeoHash {
+    public static final int PRECISION = 9;
+    public static final double KM_PER_DEGREE_LAT = 110.574;
+    public static final double KM_PER_DEGREE_LON = 111.320;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double middle = (minLon + maxLon) / 2;
+                if (lon >= middle) {
+                    index = index * 2 + 1;
+                    minLon = middle;
+                } else {
+                    index = index * 2;
+                    maxLon = middle;
+                }
+            } else {
+                double middle = (minLat + maxLat) / 2;
+                if (lat >= middle) {
+                    index = index * 2 + 1;
+                    minLat = middle;
+                } else {
+                    index = index * 2;
+                    maxLat = middle;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[index]);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Возвращает префиксы ячеек, которые вместе покрывают круг: ячейку центра и ее соседей на самой точной
+     * длине, где ячейка не меньше радиуса. Пустое множество означает, что круг слишком велик для префиксов.
+     */
+    public static Set<String> coveringPrefixes(double lat, double lon, double radiusKm) {
+        double lonScale = Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        int precision = 0;
+        for (int candidate = 1; candidate <= PRECISION; candidate++) {
+            if (cellHeight(candidate) * KM_PER_DEGREE_LAT < radiusKm
+                    || cellWidth(candidate) * KM_PER_DEGREE_LON * lonScale < radiusKm) {
+                break;
+            }
+            precision = candidate;
+        }
+        Set<String> prefixes = new LinkedHashSet<>();
+        if (precision == 0) {
+            return prefixes;
+        }
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        for (int latStep = -1; latStep <= 1; latStep++) {
+            double cellLat = Math.max(-90, Math.min(90, lat + latStep * height));
+            for (int lonStep = -1; lonStep <= 1; lonStep++) {
+                double cellLon = lon + lonStep * width;
+                if (cellLon < -180) {
+                    cellLon += 360;
+                } else if (cellLon >= 180) {
+                    cellLon -= 360;
+                }
+                prefixes.add(encode(cellLat, cellLon, precision));
+            }
+        }
+        return prefixes;
+    }
+
+    private static double cellHeight(int precision) {
+        return 180 / Math.pow(2, precision * 5 / 2);
+    }
+
+    private static double cellWidth(int precision) {
+        return 360 / Math.pow(2, (precision * 5 + 1) / 2);
+    }
+}
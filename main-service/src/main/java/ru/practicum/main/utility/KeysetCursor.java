@@ -0,0 +1,137 @@
+package ru.practicum.main.utility;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.main.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации: значения ключей сортировки последней записи страницы,
+ * закодированные в base64url. Пустой курсор означает первую страницу.
+ */
+public final class KeysetCursor {
+    private static final String INVALID_CURSOR = "Некорректный курсор.";
+
+    private KeysetCursor() {
+    }
+
+    public static ScrollPosition toPosition(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        List<String> properties = new ArrayList<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        String[] entries;
+        try {
+            entries = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("&");
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+        if (entries.length != properties.size()) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].split("=", 2);
+            if (entry.length != 2 || !entry[0].equals(properties.get(i))) {
+                throw new BadRequestException(INVALID_CURSOR);
+            }
+            keys.put(entry[0], parseValue(entry[1]));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(ScrollPosition position, Sort sort) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return Specification.where(null);
+        }
+        List<Sort.Order> orders = sort.toList();
+        Map<String, Object> keys = keyset.getKeys();
+        return (root, query, cb) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                List<Predicate> parts = new ArrayList<>();
+                for (int j = 0; j < i; j++) {
+                    String property = orders.get(j).getProperty();
+                    parts.add(cb.equal(root.get(property), keys.get(property)));
+                }
+                Sort.Order order = orders.get(i);
+                Expression<Comparable> path = root.get(order.getProperty());
+                Comparable value = (Comparable) keys.get(order.getProperty());
+                parts.add(order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+                alternatives.add(cb.and(parts.toArray(Predicate[]::new)));
+            }
+            return cb.or(alternatives.toArray(Predicate[]::new));
+        };
+    }
+
+    public static <T> CursorPage<T> toPage(List<T> rows, int size, Sort sort,
+                                           BiFunction<T, String, Object> keyExtractor) {
+        if (size <= 0) {
+            throw new BadRequestException("Размер страницы должен быть положительным.");
+        }
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        T last = items.get(size - 1);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(), keyExtractor.apply(last, order.getProperty())));
+        return new CursorPage<>(items, encode(keys));
+    }
+
+    public static <T> CursorPage<T> toPage(Window<T> window) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()
+                && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position) {
+            nextCursor = encode(position.getKeys());
+        }
+        return new CursorPage<>(window.getContent(), nextCursor);
+    }
+
+    private static String encode(Map<String, Object> keys) {
+        List<String> entries = new ArrayList<>();
+        keys.forEach((property, value) -> entries.add(property + "=" + formatValue(value)));
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(String.join("&", entries).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String formatValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return "d:" + dateTime;
+        }
+        if (value instanceof Number number) {
+            return "n:" + number.longValue();
+        }
+        throw new IllegalArgumentException("Неподдерживаемый тип ключа курсора: " + value);
+    }
+
+    private static Object parseValue(String value) {
+        try {
+            if (value.startsWith("d:")) {
+                return LocalDateTime.parse(value.substring(2));
+            }
+            if (value.startsWith("n:")) {
+                return Long.parseLong(value.substring(2));
+            }
+        } catch (RuntimeException exception) {
+            throw new BadRequestException(INVALID_CURSOR);
+        }
+        throw new BadRequestException(INVALID_CURSOR);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.main.utility;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Set;
+
+/**
+ * Выборка полей ответа по параметру fields. DTO с фильтром {@link #FILTER} по умолчанию сериализуются целиком.
+ */
+public final class SparseFields {
+    public static final String FILTER = "sparseFields";
+
+    private SparseFields() {
+    }
+
+    public static MappingJacksonValue apply(Object body, Set<String> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER, isAll(fields)
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        return value;
+    }
+
+    public static boolean includes(Set<String> fields, String field) {
+        return isAll(fields) || fields.contains(field);
+    }
+
+    private static boolean isAll(Set<String> fields) {
+        return fields == null || fields.isEmpty();
+    }
+}
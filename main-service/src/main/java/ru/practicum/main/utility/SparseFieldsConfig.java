@@ -0,0 +1,16 @@
+package ru.practicum.main.utility;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SparseFieldsConfig {
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(SparseFields.FILTER, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,4 @@
+-- Базы, созданные ddl-auto до перехода на Flyway, получают baseline на V1 и не выполняют его.
+-- В их таблице events нет счетчиков, на которые опираются V2 и V3, поэтому колонки добавляются здесь.
+ALTER TABLE events ADD COLUMN IF NOT EXISTS views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,51 @@
+CREATE TABLE users (
+    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    name  VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE categories (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE events (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    category_id        BIGINT        NOT NULL REFERENCES categories (id),
+    confirmed_requests BIGINT        NOT NULL DEFAULT 0,
+    created_on         TIMESTAMP(6)  NOT NULL,
+    description        VARCHAR(7000) NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    initiator_id       BIGINT        NOT NULL REFERENCES users (id),
+    lat                REAL,
+    lon                REAL,
+    paid               BOOLEAN       NOT NULL,
+    participant_limit  INTEGER       NOT NULL,
+    published_on       TIMESTAMP(6),
+    request_moderation BOOLEAN       NOT NULL,
+    state              VARCHAR(255)  NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    views              BIGINT        NOT NULL DEFAULT 0
+);
+
+CREATE TABLE compilations (
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    pinned BOOLEAN NOT NULL,
+    title  VARCHAR(255)
+);
+
+CREATE TABLE compilation_events (
+    compilation_id BIGINT NOT NULL REFERENCES compilations (id),
+    event_id       BIGINT NOT NULL REFERENCES events (id),
+    PRIMARY KEY (compilation_id, event_id)
+);
+
+CREATE TABLE requests (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    created      TIMESTAMP(6) NOT NULL,
+    event_id     BIGINT       NOT NULL REFERENCES events (id),
+    requester_id BIGINT       NOT NULL REFERENCES users (id),
+    status       VARCHAR(255) NOT NULL,
+    CONSTRAINT uq_request UNIQUE (requester_id, event_id)
+);
@@ -0,0 +1,33 @@
+-- GET /events: опубликованные события в диапазоне дат, сортировка по дате и keyset по (event_date, id).
+CREATE INDEX IF NOT EXISTS events_published_date_idx ON events (event_date, id) WHERE state = 'PUBLISHED';
+
+-- GET /events с фильтром categories.
+CREATE INDEX IF NOT EXISTS events_published_category_date_idx ON events (category_id, event_date)
+    WHERE state = 'PUBLISHED';
+
+-- GET /events?sort=VIEWS.
+CREATE INDEX IF NOT EXISTS events_published_views_idx ON events (views DESC, id) WHERE state = 'PUBLISHED';
+
+-- GET /events?text=: выражение должно совпадать с EventSearchFunctions.
+CREATE INDEX IF NOT EXISTS events_search_idx ON events USING gin (
+    (setweight(to_tsvector('simple', title), 'A')
+        || setweight(to_tsvector('simple', annotation), 'B')
+        || setweight(to_tsvector('simple', description), 'C')));
+
+-- GET /users/{userId}/events и фильтр users в GET /admin/events.
+CREATE INDEX IF NOT EXISTS events_initiator_idx ON events (initiator_id, id);
+
+-- Фильтр states в GET /admin/events.
+CREATE INDEX IF NOT EXISTS events_state_date_idx ON events (state, event_date);
+
+-- Проверка existsByCategoryId при удалении категории.
+CREATE INDEX IF NOT EXISTS events_category_idx ON events (category_id);
+
+-- findByEventId и findByEventIdAndStatus в ParticipationRequestRepository.
+CREATE INDEX IF NOT EXISTS requests_event_status_idx ON requests (event_id, status);
+
+-- Обратный поиск подборок по событию и внешний ключ compilation_events.event_id.
+CREATE INDEX IF NOT EXISTS compilation_events_event_idx ON compilation_events (event_id);
+
+-- GET /compilations?pinned=.
+CREATE INDEX IF NOT EXISTS compilations_pinned_idx ON compilations (pinned, id);
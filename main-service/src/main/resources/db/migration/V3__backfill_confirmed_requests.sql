@@ -0,0 +1,4 @@
+UPDATE events e
+SET confirmed_requests = c.total
+FROM (SELECT event_id, count(*) AS total FROM requests WHERE status = 'CONFIRMED' GROUP BY event_id) c
+WHERE c.event_id = e.id AND e.confirmed_requests <> c.total;
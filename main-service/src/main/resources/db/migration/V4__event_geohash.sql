@@ -0,0 +1,5 @@
+ALTER TABLE events ADD COLUMN IF NOT EXISTS geohash VARCHAR(9);
+
+-- GET /events?lat=&lon=&radius=: поиск по префиксам geohash опубликованных событий.
+CREATE INDEX IF NOT EXISTS events_published_geohash_idx ON events (geohash varchar_pattern_ops)
+    WHERE state = 'PUBLISHED';
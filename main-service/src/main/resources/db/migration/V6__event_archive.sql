@@ -0,0 +1,39 @@
+-- Прошедшие события и заявки на них переносятся сюда EventArchiver.
+CREATE TABLE IF NOT EXISTS events_archive (
+    id                 BIGINT        PRIMARY KEY,
+    annotation         VARCHAR(2000) NOT NULL,
+    category_id        BIGINT        NOT NULL REFERENCES categories (id),
+    confirmed_requests BIGINT        NOT NULL DEFAULT 0,
+    created_on         TIMESTAMP(6)  NOT NULL,
+    description        VARCHAR(7000) NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    initiator_id       BIGINT        NOT NULL REFERENCES users (id),
+    lat                REAL,
+    lon                REAL,
+    paid               BOOLEAN       NOT NULL,
+    participant_limit  INTEGER       NOT NULL,
+    published_on       TIMESTAMP(6),
+    request_moderation BOOLEAN       NOT NULL,
+    state              VARCHAR(255)  NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    views              BIGINT        NOT NULL DEFAULT 0,
+    geohash            VARCHAR(9),
+    archived_on        TIMESTAMP(6)  NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS requests_archive (
+    id           BIGINT       PRIMARY KEY,
+    created      TIMESTAMP(6) NOT NULL,
+    event_id     BIGINT       NOT NULL REFERENCES events_archive (id),
+    requester_id BIGINT       NOT NULL REFERENCES users (id),
+    status       VARCHAR(255) NOT NULL
+);
+
+-- Чтение заявок архивного события и проверки при удалении категорий и пользователей.
+CREATE INDEX IF NOT EXISTS requests_archive_event_idx ON requests_archive (event_id);
+CREATE INDEX IF NOT EXISTS requests_archive_requester_idx ON requests_archive (requester_id);
+CREATE INDEX IF NOT EXISTS events_archive_category_idx ON events_archive (category_id);
+CREATE INDEX IF NOT EXISTS events_archive_initiator_idx ON events_archive (initiator_id);
+
+-- Поиск кандидатов на архивацию.
+CREATE INDEX IF NOT EXISTS events_event_date_idx ON events (event_date, id);
@@ -0,0 +1,6 @@
+-- Keyset-запрос GET /events (state = 'PUBLISHED', порядок event_date, id) планировщик выполнял по
+-- events_state_date_idx с досортировкой по id, а частичный events_published_date_idx не использовался.
+-- Один индекс с id отдает строки уже в нужном порядке и обслуживает фильтр states в GET /admin/events.
+DROP INDEX IF EXISTS events_published_date_idx;
+DROP INDEX IF EXISTS events_state_date_idx;
+CREATE INDEX IF NOT EXISTS events_state_date_idx ON events (state, event_date, id);
@@ -0,0 +1,100 @@
+package ru.practicum.main;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет обновление базы, созданной ddl-auto до перехода на Flyway: схема повторяет то, что Hibernate
+ * строил по сущностям той версии, а миграции запускаются с теми же настройками baseline, что и в приложении.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BaselineSchemaMigrationTest {
+    private static final String BASELINE_SCHEMA = """
+            create table users (
+                id bigint generated by default as identity primary key,
+                email varchar(255) not null unique,
+                name varchar(255) not null
+            );
+            create table categories (
+                id bigint generated by default as identity primary key,
+                name varchar(255) not null unique
+            );
+            create table events (
+                id bigint generated by default as identity primary key,
+                annotation varchar(2000) not null,
+                created_on timestamp(6) not null,
+                description varchar(7000) not null,
+                event_date timestamp(6) not null,
+                lat float(24),
+                lon float(24),
+                paid boolean not null,
+                participant_limit integer not null,
+                published_on timestamp(6),
+                request_moderation boolean not null,
+                state varchar(255) not null check (state in ('PENDING', 'PUBLISHED', 'CANCELED')),
+                title varchar(120) not null,
+                category_id bigint not null references categories,
+                initiator_id bigint not null references users
+            );
+            create table compilations (
+                id bigint generated by default as identity primary key,
+                pinned boolean not null,
+                title varchar(255)
+            );
+            create table compilation_events (
+                compilation_id bigint not null references compilations,
+                event_id bigint not null references events,
+                primary key (compilation_id, event_id)
+            );
+            create table requests (
+                id bigint generated by default as identity primary key,
+                created timestamp(6) not null,
+                status varchar(255) not null check (status in ('PENDING', 'CONFIRMED', 'REJECTED', 'CANCELED')),
+                event_id bigint not null references events,
+                requester_id bigint not null references users,
+                constraint uq_request unique (requester_id, event_id)
+            );
+            insert into users (email, name) values ('initiator@test.ru', 'initiator'), ('guest@test.ru', 'guest');
+            insert into categories (name) values ('concerts');
+            insert into events (annotation, created_on, description, event_date, lat, lon, paid, participant_limit,
+                                published_on, request_moderation, state, title, category_id, initiator_id)
+            values ('annotation', localtimestamp, 'description', localtimestamp + interval '1 day', 55.75, 37.62,
+                    false, 0, localtimestamp, true, 'PUBLISHED', 'title', 1, 1);
+            insert into requests (created, status, event_id, requester_id)
+            values (localtimestamp, 'CONFIRMED', 1, 2);
+            """;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Test
+    void migratesDatabaseCreatedByDdlAuto() {
+        DataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(BASELINE_SCHEMA);
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select confirmed_requests from events where id = 1", Long.class))
+                .isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("select views from events where id = 1", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("select geohash from events where id = 1", String.class))
+                .isNotNull();
+    }
+}
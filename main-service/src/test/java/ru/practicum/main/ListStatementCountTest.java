@@ -0,0 +1,100 @@
+package ru.practicum.main;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.main.event.service.PublicEventCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет, что число SQL-запросов списочных эндпоинтов не зависит от размера страницы,
+ * то есть связанные сущности не догружаются по одной на строку. Ожидаемые числа зафиксированы,
+ * чтобы лишний запрос на любом из путей был заметен сразу.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=ru.practicum.main.StatementCounter",
+        "stats.base-url=http://localhost:1",
+        "stats.spool.dir=target/test-stats-spool"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ListStatementCountTest {
+    private static final int EVENTS = 12;
+    private static final long INITIATOR_ID = 1;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PublicEventCatalog publicEventCatalog;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("truncate compilation_events, compilations, requests, events, categories, users "
+                + "restart identity cascade");
+        jdbcTemplate.update("insert into users (email, name) values ('first@test.ru', 'first'), "
+                + "('second@test.ru', 'second')");
+        jdbcTemplate.update("insert into categories (name) values ('first'), ('second')");
+        jdbcTemplate.update("insert into events (annotation, category_id, created_on, description, event_date, "
+                + "initiator_id, paid, participant_limit, published_on, request_moderation, state, title) "
+                + "select 'annotation of event ' || g, g % 2 + 1, localtimestamp, 'description of event ' || g, "
+                + "localtimestamp + g * interval '1 day', ?, g % 2 = 0, 0, localtimestamp, true, 'PUBLISHED', "
+                + "'event ' || g from generate_series(1, ?) g", INITIATOR_ID, EVENTS);
+        jdbcTemplate.update("insert into requests (created, event_id, requester_id, status) "
+                + "select localtimestamp, id, 2, 'PENDING' from events");
+        jdbcTemplate.update("insert into compilations (pinned, title) "
+                + "select g % 2 = 0, 'compilation ' || g from generate_series(1, ?) g", EVENTS);
+        jdbcTemplate.update("insert into compilation_events (compilation_id, event_id) "
+                + "select c.id, e.id from compilations c join events e on e.id in (c.id, c.id % ? + 1)", EVENTS);
+        publicEventCatalog.reload();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "/events, 1",
+            "/events?text=event, 1",
+            "/events?sort=VIEWS, 1",
+            "/events?cursor=, 1",
+            "/admin/events, 2",
+            "/admin/events?cursor=, 3",
+            "/users/{userId}/events, 2",
+            "/users/{userId}/events?cursor=, 2",
+            "/compilations, 5",
+            "/compilations?cursor=, 4"
+    })
+    void statementCountDoesNotDependOnPageSize(String path, int expected) throws Exception {
+        assertThat(countStatements(path, 1)).as("SQL-запросы %s, size=1", path).isEqualTo(expected);
+        assertThat(countStatements(path, 10)).as("SQL-запросы %s, size=10", path).isEqualTo(expected);
+    }
+
+    private int countStatements(String path, int size) throws Exception {
+        String url = path.replace("{userId}", String.valueOf(INITIATOR_ID))
+                + (path.contains("?") ? "&" : "?") + "size=" + size;
+        StatementCounter.reset();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(size)));
+        return StatementCounter.count();
+    }
+}
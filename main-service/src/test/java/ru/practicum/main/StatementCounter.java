@@ -0,0 +1,25 @@
+package ru.practicum.main;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы Hibernate в текущем потоке. В отличие от общей Statistics фабрики сессий
+ * не учитывает запросы фоновых задач, которые выполняются одновременно с тестом.
+ */
+public class StatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    static int count() {
+        return COUNT.get()[0];
+    }
+}
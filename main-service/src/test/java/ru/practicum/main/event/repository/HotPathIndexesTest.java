@@ -0,0 +1,134 @@
+package ru.practicum.main.event.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверяет по EXPLAIN, что запросы горячих путей используют индексы из миграций.
+ * Данные подобраны так, чтобы выборка по индексу была заметно дешевле полного сканирования.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class HotPathIndexesTest {
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long categoryId;
+    private long userId;
+    private long eventId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("insert into users (email, name) "
+                + "select 'user' || g || '@test.ru', 'user' || g from generate_series(1, 100) g");
+        jdbcTemplate.update("insert into categories (name) select 'category' || g from generate_series(1, 20) g");
+        jdbcTemplate.update("insert into events (annotation, category_id, created_on, description, event_date, "
+                + "initiator_id, paid, participant_limit, request_moderation, state, title, views, geohash) "
+                + "select 'annotation ' || g, c.id, localtimestamp, 'description ' || g, "
+                + "localtimestamp + (g % 1000 - 500) * interval '1 hour', u.id, g % 2 = 0, 0, true, "
+                + "case g % 20 when 0 then 'PUBLISHED' when 1 then 'CANCELED' else 'PENDING' end, "
+                + "'title ' || g, g % 1000, substr(md5(g::text), 1, 9) "
+                + "from generate_series(1, 20000) g "
+                + "join (select id, row_number() over (order by id) - 1 as n from categories) c on c.n = g % 20 "
+                + "join (select id, row_number() over (order by id) - 1 as n from users) u on u.n = g % 100");
+        jdbcTemplate.update("insert into requests (created, event_id, requester_id, status) "
+                + "select localtimestamp, e.id, u.id, case when u.id % 2 = 0 then 'CONFIRMED' else 'PENDING' end "
+                + "from (select id from events order by id limit 5000) e "
+                + "cross join (select id from users order by id limit 5) u");
+        jdbcTemplate.update("insert into compilations (pinned, title) "
+                + "select g % 100 = 0, 'compilation ' || g from generate_series(1, 10000) g");
+        jdbcTemplate.execute("analyze");
+        categoryId = jdbcTemplate.queryForObject("select min(id) from categories", Long.class);
+        userId = jdbcTemplate.queryForObject("select min(id) from users", Long.class);
+        eventId = jdbcTemplate.queryForObject("select min(id) from events", Long.class);
+    }
+
+    @Test
+    void publishedEventsByDateUseStateDateIndexWithoutSort() {
+        assertThat(explain("select e.id from events e where e.state = 'PUBLISHED' "
+                + "and e.event_date > localtimestamp order by e.event_date, e.id limit 10"))
+                .contains("events_state_date_idx")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void publishedEventsByCategoryUsePublishedCategoryIndex() {
+        assertThat(explain("select e.id from events e where e.state = 'PUBLISHED' and e.category_id = "
+                + categoryId + " and e.event_date > localtimestamp order by e.event_date limit 10"))
+                .contains("events_published_category_date_idx");
+    }
+
+    @Test
+    void publishedEventsByViewsUsePublishedViewsIndex() {
+        assertThat(explain("select e.id from events e where e.state = 'PUBLISHED' "
+                + "order by e.views desc, e.id limit 10"))
+                .contains("events_published_views_idx");
+    }
+
+    @Test
+    void textSearchUsesSearchIndex() {
+        assertThat(explain("select e.id from events e where (setweight(to_tsvector('simple', e.title), 'A') "
+                + "|| setweight(to_tsvector('simple', e.annotation), 'B') "
+                + "|| setweight(to_tsvector('simple', e.description), 'C')) @@ to_tsquery('simple', '12345')"))
+                .contains("events_search_idx");
+    }
+
+    @Test
+    void geohashPrefixSearchUsesGeohashIndex() {
+        assertThat(explain("select e.id from events e where e.state = 'PUBLISHED' and e.geohash like 'abc%'"))
+                .contains("events_published_geohash_idx");
+    }
+
+    @Test
+    void userEventsUseInitiatorIndex() {
+        assertThat(explain("select e.id from events e where e.initiator_id = " + userId
+                + " order by e.id limit 10"))
+                .contains("events_initiator_idx");
+    }
+
+    @Test
+    void adminStateFilterUsesStateDateIndex() {
+        assertThat(explain("select e.id from events e where e.state in ('CANCELED') "
+                + "and e.event_date > localtimestamp"))
+                .contains("events_state_date_idx");
+    }
+
+    @Test
+    void archiveCandidatesUseEventDateIndex() {
+        assertThat(explain("select e.id from events e where e.event_date < localtimestamp - interval '1 day' "
+                + "order by e.event_date, e.id limit 500"))
+                .contains("events_event_date_idx");
+    }
+
+    @Test
+    void eventRequestsUseEventStatusIndex() {
+        assertThat(explain("select r.id from requests r where r.event_id = " + eventId
+                + " and r.status = 'CONFIRMED'"))
+                .contains("requests_event_status_idx");
+    }
+
+    @Test
+    void pinnedCompilationsUsePinnedIndex() {
+        assertThat(explain("select c.id from compilations c where c.pinned = true order by c.id limit 10"))
+                .contains("compilations_pinned_idx");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+    }
+}
@@ -0,0 +1,180 @@
+package ru.practicum.stats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriBuilder;
+import ru.practicum.stats.dto.EndpointHitDto;
+import ru.practicum.stats.dto.ViewStatsDto;
+import ru.practicum.stats.spool.HitSpool;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class HttpStatsClient implements StatsClient, AutoCloseable {
+    private final RestClient restClient;
+    private final RestClient backgroundRestClient;
+    private final String app;
+    private final HitSpool spool;
+    private final StatsCircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+    private final Duration getStatsTimeout;
+    private final Duration hedgeDelay;
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+
+    @Override
+    public void addHit(HttpServletRequest request) {
+        spool.append(StatsHits.fromRequest(app, request));
+    }
+
+    @Override
+    public void addHit(String uri, String ip) {
+        spool.append(StatsHits.of(app, uri, ip));
+    }
+
+    @Override
+    public CompletableFuture<Void> addHitAsync(HttpServletRequest request) {
+        EndpointHitDto endpointHitDto = StatsHits.fromRequest(app, request);
+        return CompletableFuture.runAsync(() -> spool.append(endpointHitDto), executor);
+    }
+
+    @Override
+    public void sendHits(List<EndpointHitDto> hits) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw new StatsUnavailableException("Сервис статистики временно недоступен.");
+        }
+        try {
+            restClient.post()
+                    .uri("/hits")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(hits)
+                    .retrieve()
+                    .toBodilessEntity();
+            circuitBreaker.onSuccess();
+        } catch (HttpClientErrorException exception) {
+            circuitBreaker.onSuccess();
+            throw exception;
+        } catch (RestClientException exception) {
+            circuitBreaker.onFailure();
+            throw new StatsUnavailableException("Не удалось отправить хиты в сервис статистики.", exception);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<ViewStatsDto>> getStatsAsync(String start, String end, List<String> uris,
+                                                               boolean unique) {
+        if (!circuitBreaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                    new StatsUnavailableException("Сервис статистики временно недоступен."));
+        }
+        return hedged(() -> fetchStats(restClient, start, end, uris, unique))
+                .orTimeout(getStatsTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((stats, error) -> {
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                        return stats;
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof HttpClientErrorException clientError) {
+                        circuitBreaker.onSuccess();
+                        throw clientError;
+                    }
+                    circuitBreaker.onFailure();
+                    if (cause instanceof TimeoutException) {
+                        timeouts.incrementAndGet();
+                        throw new StatsUnavailableException("Сервис статистики не ответил вовремя.", cause);
+                    }
+                    throw new StatsUnavailableException("Не удалось получить статистику.", cause);
+                });
+    }
+
+    @Override
+    public List<ViewStatsDto> getStatsInBackground(String start, String end, List<String> uris, boolean unique) {
+        try {
+            return fetchStats(backgroundRestClient, start, end, uris, unique);
+        } catch (HttpClientErrorException exception) {
+            throw exception;
+        } catch (RestClientException exception) {
+            throw new StatsUnavailableException("Не удалось получить статистику.", exception);
+        }
+    }
+
+    @Override
+    public boolean hasPendingHits() {
+        return !spool.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getHedged() {
+        return hedged.get();
+    }
+
+    private List<ViewStatsDto> fetchStats(RestClient client, String start, String end, List<String> uris,
+                                          boolean unique) {
+        return client.get()
+                .uri(uriBuilder -> {
+                    UriBuilder b = uriBuilder.path("/stats")
+                            .queryParam("start", start)
+                            .queryParam("end", end);
+                    if (unique) {
+                        b.queryParam("unique", true);
+                    }
+
+                    if (uris != null && !uris.isEmpty()) {
+                        b.queryParam("uris", uris);
+                    }
+
+                    return b.build();
+                })
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<ViewStatsDto>>() {});
+    }
+
+    private <T> CompletableFuture<T> hedged(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        launch(call, result, pending);
+        if (!hedgeDelay.isZero()) {
+            CompletableFuture.delayedExecutor(hedgeDelay.toMillis(), TimeUnit.MILLISECONDS, executor).execute(() -> {
+                if (!result.isDone()) {
+                    pending.incrementAndGet();
+                    hedged.incrementAndGet();
+                    launch(call, result, pending);
+                }
+            });
+        }
+        return result;
+    }
+
+    private <T> void launch(Supplier<T> call, CompletableFuture<T> result, AtomicInteger pending) {
+        CompletableFuture.supplyAsync(call, executor).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+}
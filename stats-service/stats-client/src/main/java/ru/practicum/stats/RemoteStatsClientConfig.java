@@ -0,0 +1,68 @@
+package ru.practicum.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import ru.practicum.stats.spool.HitSpool;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "stats.mode", havingValue = "remote", matchIfMissing = true)
+public class RemoteStatsClientConfig {
+
+    @Bean
+    public RestClient statsRestClient(@Value("${stats.base-url}") String baseUrl,
+                                      @Value("${stats.connect-timeout:1s}") Duration connectTimeout,
+                                      @Value("${stats.read-timeout:2s}") Duration readTimeout) {
+        return restClient(baseUrl, connectTimeout, readTimeout);
+    }
+
+    @Bean
+    public StatsCircuitBreaker statsCircuitBreaker(
+            @Value("${stats.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${stats.circuit-breaker.open-duration:30s}") Duration openDuration) {
+        return new StatsCircuitBreaker(failureThreshold, openDuration);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HttpStatsClient statsClient(RestClient statsRestClient,
+                                       @Value("${stats.base-url}") String baseUrl,
+                                       @Value("${stats.connect-timeout:1s}") Duration connectTimeout,
+                                       @Value("${stats.background-timeout:30s}") Duration backgroundTimeout,
+                                       @Value("${stats.app-name}") String appName,
+                                       HitSpool hitSpool,
+                                       StatsCircuitBreaker statsCircuitBreaker,
+                                       @Value("${stats.get-stats-timeout:2s}") Duration getStatsTimeout,
+                                       @Value("${stats.hedge-delay:0s}") Duration hedgeDelay) {
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("stats-client-", 0).factory());
+        RestClient backgroundRestClient = restClient(baseUrl, connectTimeout, backgroundTimeout);
+        return new HttpStatsClient(statsRestClient, backgroundRestClient, appName, hitSpool, statsCircuitBreaker,
+                executor, getStatsTimeout, hedgeDelay);
+    }
+
+    @Bean
+    public StatsClientMetrics statsClientMetrics(HttpStatsClient statsClient, StatsCircuitBreaker statsCircuitBreaker) {
+        return new StatsClientMetrics(statsClient, statsCircuitBreaker);
+    }
+
+    private static RestClient restClient(String baseUrl, Duration connectTimeout, Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+    }
+}
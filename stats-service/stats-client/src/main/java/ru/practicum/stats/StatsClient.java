@@ -1,56 +1,48 @@
 package ru.practicum.stats;
 
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.MediaType;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.util.UriBuilder;
 import ru.practicum.stats.dto.EndpointHitDto;
 import ru.practicum.stats.dto.ViewStatsDto;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-@RequiredArgsConstructor
-public class StatsClient {
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-    private final RestClient restClient;
-    private final String app;
-
-    public void addHit(HttpServletRequest request) {
-        EndpointHitDto endpointHitDto = new EndpointHitDto();
-        endpointHitDto.setApp(app);
-        endpointHitDto.setUri(request.getRequestURI());
-        endpointHitDto.setIp(request.getRemoteAddr());
-        endpointHitDto.setTimestamp(LocalDateTime.now().format(FORMATTER));
-        restClient.post()
-                .uri("/hit")
-                .contentType(MediaType.APPLICATION_JSON)
-                .body(endpointHitDto)
-                .retrieve()
-                .toBodilessEntity();
+public interface StatsClient {
+    void addHit(HttpServletRequest request);
+
+    void addHit(String uri, String ip);
+
+    CompletableFuture<Void> addHitAsync(HttpServletRequest request);
+
+    void sendHits(List<EndpointHitDto> hits);
+
+    CompletableFuture<List<ViewStatsDto>> getStatsAsync(String start, String end, List<String> uris, boolean unique);
+
+    default List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique) {
+        try {
+            return getStatsAsync(start, end, uris, unique).join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Запрос статистики для фоновых задач: со своим таймаутом, без хеджирования и без учета
+     * в circuit breaker, чтобы долгая выгрузка не открывала его для пользовательских запросов.
+     */
+    default List<ViewStatsDto> getStatsInBackground(String start, String end, List<String> uris, boolean unique) {
+        return getStats(start, end, uris, unique);
     }
 
-    public List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique) {
-        return restClient.get()
-                .uri(uriBuilder -> {
-                    UriBuilder b = uriBuilder.path("/stats")
-                            .queryParam("start", start)
-                            .queryParam("end", end);
-                    if (unique) {
-                        b.queryParam("unique", true);
-                    }
-
-                    if (uris != null && !uris.isEmpty()) {
-                        b.queryParam("uris", uris);
-                    }
-
-                    return b.build();
-                })
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<ViewStatsDto>>() {});
+    /**
+     * Есть ли хиты, которые еще не доставлены в сервис статистики. Пока они есть, выгрузка статистики
+     * может не содержать хитов с уже прошедшими временными метками.
+     */
+    default boolean hasPendingHits() {
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -3,21 +3,29 @@ package ru.practicum.stats;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestClient;
+import ru.practicum.stats.spool.HitCoalescer;
+import ru.practicum.stats.spool.HitSpool;
+import ru.practicum.stats.spool.HitSpoolDrainer;
+
+import java.nio.file.Path;
+import java.time.Duration;
 
 @Configuration
 public class StatsClientConfig {
 
-    @Bean
-    public RestClient statsRestClient(@Value("${stats.base-url}") String baseUrl) {
-        return RestClient.builder()
-                .baseUrl(baseUrl)
-                .build();
+    @Bean(destroyMethod = "close")
+    public HitSpool hitSpool(@Value("${stats.spool.dir:stats-spool}") Path directory,
+                             @Value("${stats.spool.segment-size:1048576}") int segmentSize,
+                             @Value("${stats.spool.max-segments:64}") int maxSegments) {
+        return new HitSpool(directory, segmentSize, maxSegments);
     }
 
-    @Bean
-    public StatsClient statsClient(RestClient statsRestClient,
-                                   @Value("${stats.app-name}") String appName) {
-        return new StatsClient(statsRestClient, appName);
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public HitSpoolDrainer hitSpoolDrainer(HitSpool hitSpool,
+                                           StatsClient statsClient,
+                                           @Value("${stats.spool.batch-size:500}") int batchSize,
+                                           @Value("${stats.spool.drain-interval:1s}") Duration interval,
+                                           @Value("${stats.spool.coalesce-window:5s}") Duration coalesceWindow) {
+        return new HitSpoolDrainer(hitSpool, statsClient, new HitCoalescer(coalesceWindow), batchSize, interval);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package ru.practicum.stats;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class StatsClientMetrics implements MeterBinder {
+    private final HttpStatsClient statsClient;
+    private final StatsCircuitBreaker circuitBreaker;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stats.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Состояние предохранителя: 0 - закрыт, 1 - пробный запрос, 2 - открыт")
+                .register(registry);
+        FunctionCounter.builder("stats.client.circuit.rejected", circuitBreaker, StatsCircuitBreaker::getRejected)
+                .description("Запросы, отклоненные открытым предохранителем")
+                .register(registry);
+        FunctionCounter.builder("stats.client.timeouts", statsClient, HttpStatsClient::getTimeouts)
+                .description("Запросы к сервису статистики, не уложившиеся в дедлайн")
+                .register(registry);
+        FunctionCounter.builder("stats.client.hedged", statsClient, HttpStatsClient::getHedged)
+                .description("Повторные (хеджирующие) запросы статистики")
+                .register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.stats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import ru.practicum.stats.dto.EndpointHitDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+public final class StatsHits {
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private StatsHits() {
+    }
+
+    public static EndpointHitDto fromRequest(String app, HttpServletRequest request) {
+        return of(app, request.getRequestURI(), request.getRemoteAddr());
+    }
+
+    public static EndpointHitDto of(String app, String uri, String ip) {
+        EndpointHitDto endpointHitDto = new EndpointHitDto();
+        endpointHitDto.setApp(app);
+        endpointHitDto.setUri(uri);
+        endpointHitDto.setIp(ip);
+        endpointHitDto.setTimestamp(LocalDateTime.now().format(FORMATTER));
+        return endpointHitDto;
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.stats.embedded;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import ru.practicum.stats.StatsClient;
+import ru.practicum.stats.StatsHits;
+import ru.practicum.stats.StatsUnavailableException;
+import ru.practicum.stats.dto.EndpointHitDto;
+import ru.practicum.stats.dto.ViewStatsDto;
+import ru.practicum.stats.spool.HitSpool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@RequiredArgsConstructor
+public class EmbeddedStatsClient implements StatsClient, AutoCloseable {
+    private final JdbcStatsStore store;
+    private final String app;
+    private final HitSpool spool;
+    private final ExecutorService executor;
+    private final Closeable dataSource;
+
+    @Override
+    public void addHit(HttpServletRequest request) {
+        spool.append(StatsHits.fromRequest(app, request));
+    }
+
+    @Override
+    public void addHit(String uri, String ip) {
+        spool.append(StatsHits.of(app, uri, ip));
+    }
+
+    @Override
+    public CompletableFuture<Void> addHitAsync(HttpServletRequest request) {
+        EndpointHitDto endpointHitDto = StatsHits.fromRequest(app, request);
+        return CompletableFuture.runAsync(() -> spool.append(endpointHitDto), executor);
+    }
+
+    @Override
+    public void sendHits(List<EndpointHitDto> hits) {
+        try {
+            store.saveAll(hits);
+        } catch (DataAccessException exception) {
+            throw new StatsUnavailableException("Не удалось сохранить хиты в локальное хранилище.", exception);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<ViewStatsDto>> getStatsAsync(String start, String end, List<String> uris,
+                                                               boolean unique) {
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        try {
+            startTime = LocalDateTime.parse(start, StatsHits.FORMATTER);
+            endTime = LocalDateTime.parse(end, StatsHits.FORMATTER);
+        } catch (DateTimeParseException exception) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Не получилось отформатировать дату.", exception));
+        }
+        if (startTime.isAfter(endTime)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Начало должно быть перед временем окончания."));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.findStats(startTime, endTime, uris, unique);
+            } catch (DataAccessException exception) {
+                throw new StatsUnavailableException("Не удалось получить статистику.", exception);
+            }
+        }, executor);
+    }
+
+    @Override
+    public boolean hasPendingHits() {
+        return !spool.isEmpty();
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.stats.embedded;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.stats.spool.HitSpool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@ConditionalOnProperty(name = "stats.mode", havingValue = "embedded")
+public class EmbeddedStatsClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedStatsClient statsClient(@Value("${stats.embedded.datasource.url}") String url,
+                                           @Value("${stats.embedded.datasource.username}") String username,
+                                           @Value("${stats.embedded.datasource.password}") String password,
+                                           @Value("${stats.embedded.datasource.maximum-pool-size:4}") int poolSize,
+                                           @Value("${stats.app-name}") String appName,
+                                           HitSpool hitSpool) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("stats-embedded");
+        dataSource.setMaximumPoolSize(poolSize);
+        JdbcStatsStore store = new JdbcStatsStore(dataSource);
+        store.initSchema();
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("stats-embedded-", 0).factory());
+        return new EmbeddedStatsClient(store, appName, hitSpool, executor, dataSource);
+    }
+}
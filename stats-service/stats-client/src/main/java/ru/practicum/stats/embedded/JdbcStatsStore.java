@@ -0,0 +1,77 @@
+package ru.practicum.stats.embedded;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import ru.practicum.stats.StatsHits;
+import ru.practicum.stats.dto.EndpointHitDto;
+import ru.practicum.stats.dto.ViewStatsDto;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Хранилище хитов на JDBC с той же схемой endpoint_hits, что и у stats-server,
+ * поэтому встроенный режим и отдельный сервер статистики могут работать с одной базой.
+ */
+public class JdbcStatsStore {
+    private static final String CREATE_TABLE = "create table if not exists endpoint_hits (" +
+            "id bigint generated by default as identity primary key, " +
+            "app varchar(255) not null, " +
+            "uri varchar(255) not null, " +
+            "ip varchar(255) not null, " +
+            "hit_timestamp timestamp(6) not null, " +
+            "hit_count integer default 1 not null)";
+    private static final String INSERT = "insert into endpoint_hits (app, uri, ip, hit_timestamp, hit_count) " +
+            "values (:app, :uri, :ip, :timestamp, :count)";
+    private static final String SELECT_STATS = "select app, uri, %s as hits " +
+            "from endpoint_hits " +
+            "where hit_timestamp between :start and :end %s" +
+            "group by app, uri " +
+            "order by hits desc";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public JdbcStatsStore(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    public void initSchema() {
+        jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+    }
+
+    public void saveAll(List<EndpointHitDto> hits) {
+        SqlParameterSource[] batch = hits.stream()
+                .map(hit -> new MapSqlParameterSource()
+                        .addValue("app", hit.getApp())
+                        .addValue("uri", hit.getUri())
+                        .addValue("ip", hit.getIp())
+                        .addValue("timestamp", Timestamp.valueOf(
+                                LocalDateTime.parse(hit.getTimestamp(), StatsHits.FORMATTER)))
+                        .addValue("count", hit.getCount() == null ? 1 : hit.getCount()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT, batch);
+    }
+
+    public List<ViewStatsDto> findStats(LocalDateTime start, LocalDateTime end, List<String> uris, boolean unique) {
+        boolean filterUris = uris != null && !uris.isEmpty();
+        String sql = String.format(SELECT_STATS,
+                unique ? "count(distinct ip)" : "sum(hit_count)",
+                filterUris ? "and uri in (:uris) " : "");
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("start", Timestamp.valueOf(start))
+                .addValue("end", Timestamp.valueOf(end));
+        if (filterUris) {
+            parameters.addValue("uris", uris);
+        }
+        return jdbcTemplate.query(sql, parameters, (rs, rowNum) -> {
+            ViewStatsDto dto = new ViewStatsDto();
+            dto.setApp(rs.getString("app"));
+            dto.setUri(rs.getString("uri"));
+            dto.setHits(rs.getLong("hits"));
+            return dto;
+        });
+    }
+}
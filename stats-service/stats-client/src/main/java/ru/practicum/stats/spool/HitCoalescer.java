@@ -0,0 +1,59 @@
+package ru.practicum.stats.spool;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.stats.dto.EndpointHitDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class HitCoalescer {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final long windowSeconds;
+
+    public HitCoalescer(Duration window) {
+        this.windowSeconds = Math.max(1, window.toSeconds());
+    }
+
+    public List<EndpointHitDto> coalesce(List<EndpointHitDto> hits) {
+        Map<Key, EndpointHitDto> coalesced = new LinkedHashMap<>();
+        for (EndpointHitDto hit : hits) {
+            long bucket = LocalDateTime.parse(hit.getTimestamp(), FORMATTER).toEpochSecond(ZoneOffset.UTC)
+                    / windowSeconds;
+            Key key = new Key(hit.getApp(), hit.getUri(), hit.getIp(), bucket);
+            EndpointHitDto existing = coalesced.get(key);
+            if (existing == null) {
+                EndpointHitDto copy = new EndpointHitDto();
+                copy.setApp(hit.getApp());
+                copy.setUri(hit.getUri());
+                copy.setIp(hit.getIp());
+                copy.setTimestamp(hit.getTimestamp());
+                copy.setCount(countOf(hit));
+                coalesced.put(key, copy);
+            } else {
+                existing.setCount(existing.getCount() + countOf(hit));
+            }
+        }
+        return new ArrayList<>(coalesced.values());
+    }
+
+    private static int countOf(EndpointHitDto hit) {
+        return hit.getCount() == null ? 1 : hit.getCount();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String app;
+        private final String uri;
+        private final String ip;
+        private final long bucket;
+    }
+}
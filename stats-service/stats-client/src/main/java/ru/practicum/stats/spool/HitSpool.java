@@ -0,0 +1,255 @@
+package ru.practicum.stats.spool;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.stats.dto.EndpointHitDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only очередь хитов на диске. Каждый сегмент - отображенный в память файл фиксированного размера:
+ * первые четыре байта хранят смещение прочитанной части, дальше идут записи вида [длина][данные].
+ * Нулевая длина означает конец записанных данных, поэтому после рестарта очередь восстанавливается сканированием.
+ */
+@Slf4j
+public class HitSpool implements Closeable {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("hits-(\\d+)\\.seg");
+    private static final int HEADER_SIZE = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+
+    public HitSpool(Path directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Не удалось открыть очередь хитов " + directory, exception);
+        }
+    }
+
+    public synchronized void append(EndpointHitDto hit) {
+        byte[] payload = encode(hit);
+        int recordSize = Integer.BYTES + payload.length;
+        if (HEADER_SIZE + recordSize > segmentSize) {
+            log.warn("Хит для uri={} слишком велик для сегмента очереди и будет пропущен.", hit.getUri());
+            return;
+        }
+        Segment active = segments.peekLast();
+        if (active == null || active.writeOffset + recordSize > active.capacity) {
+            active = rotate();
+        }
+        active.buffer.put(active.writeOffset + Integer.BYTES, payload);
+        active.buffer.putInt(active.writeOffset, payload.length);
+        active.writeOffset += recordSize;
+    }
+
+    public synchronized Batch peek(int maxHits) {
+        Segment oldest = segments.peekFirst();
+        while (oldest != null && oldest.readOffset == oldest.writeOffset && oldest != segments.peekLast()) {
+            segments.pollFirst();
+            delete(oldest);
+            oldest = segments.peekFirst();
+        }
+        if (oldest == null) {
+            return Batch.EMPTY;
+        }
+        List<EndpointHitDto> hits = new ArrayList<>();
+        int offset = oldest.readOffset;
+        while (hits.size() < maxHits && offset < oldest.writeOffset) {
+            int length = oldest.buffer.getInt(offset);
+            byte[] payload = new byte[length];
+            oldest.buffer.get(offset + Integer.BYTES, payload);
+            hits.add(decode(payload));
+            offset += Integer.BYTES + length;
+        }
+        return new Batch(oldest, offset, hits);
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.stream().allMatch(segment -> segment.readOffset == segment.writeOffset);
+    }
+
+    public synchronized void commit(Batch batch) {
+        Segment segment = batch.segment;
+        if (segment == null || !segments.contains(segment)) {
+            return;
+        }
+        segment.readOffset = batch.endOffset;
+        segment.buffer.putInt(0, batch.endOffset);
+        if (segment.readOffset == segment.writeOffset && segment != segments.peekLast()) {
+            segments.remove(segment);
+            delete(segment);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted((left, right) -> Long.compare(sequenceOf(left), sequenceOf(right)))
+                    .toList();
+        }
+        for (Path file : files) {
+            Segment segment = open(file, sequenceOf(file));
+            segments.addLast(segment);
+            nextSequence = segment.sequence + 1;
+        }
+    }
+
+    private Segment rotate() {
+        Segment previous = segments.peekLast();
+        if (previous != null) {
+            previous.buffer.force();
+        }
+        while (segments.size() >= maxSegments) {
+            Segment dropped = segments.pollFirst();
+            log.warn("Очередь хитов переполнена, сегмент {} удален без отправки.", dropped.file);
+            delete(dropped);
+        }
+        long sequence = nextSequence++;
+        try {
+            Segment segment = open(directory.resolve(String.format("hits-%019d.seg", sequence)), sequence);
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Не удалось создать сегмент очереди хитов.", exception);
+        }
+    }
+
+    private Segment open(Path file, long sequence) throws IOException {
+        MappedByteBuffer buffer;
+        int capacity;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            capacity = (int) Math.max(channel.size(), segmentSize);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        int readOffset = buffer.getInt(0);
+        if (readOffset < HEADER_SIZE || readOffset > capacity) {
+            readOffset = HEADER_SIZE;
+            buffer.putInt(0, readOffset);
+        }
+        int writeOffset = readOffset;
+        while (writeOffset + Integer.BYTES <= capacity) {
+            int length = buffer.getInt(writeOffset);
+            if (length <= 0 || writeOffset + Integer.BYTES + length > capacity) {
+                break;
+            }
+            writeOffset += Integer.BYTES + length;
+        }
+        return new Segment(file, sequence, buffer, capacity, readOffset, writeOffset);
+    }
+
+    private void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.file);
+        } catch (IOException exception) {
+            log.warn("Не удалось удалить сегмент очереди хитов {}.", segment.file, exception);
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static byte[] encode(EndpointHitDto hit) {
+        byte[][] fields = {bytes(hit.getApp()), bytes(hit.getUri()), bytes(hit.getIp()), bytes(hit.getTimestamp())};
+        int size = 0;
+        for (byte[] field : fields) {
+            size += Integer.BYTES + field.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] field : fields) {
+            buffer.putInt(field.length);
+            buffer.put(field);
+        }
+        return buffer.array();
+    }
+
+    private static EndpointHitDto decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        EndpointHitDto hit = new EndpointHitDto();
+        hit.setApp(string(buffer));
+        hit.setUri(string(buffer));
+        hit.setIp(string(buffer));
+        hit.setTimestamp(string(buffer));
+        return hit;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] value = new byte[buffer.getInt()];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long sequence;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int readOffset;
+        private int writeOffset;
+
+        private Segment(Path file, long sequence, MappedByteBuffer buffer, int capacity, int readOffset,
+                        int writeOffset) {
+            this.file = file;
+            this.sequence = sequence;
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.readOffset = readOffset;
+            this.writeOffset = writeOffset;
+        }
+    }
+
+    public static final class Batch {
+        private static final Batch EMPTY = new Batch(null, 0, List.of());
+
+        private final Segment segment;
+        private final int endOffset;
+        private final List<EndpointHitDto> hits;
+
+        private Batch(Segment segment, int endOffset, List<EndpointHitDto> hits) {
+            this.segment = segment;
+            this.endOffset = endOffset;
+            this.hits = hits;
+        }
+
+        public List<EndpointHitDto> getHits() {
+            return hits;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.stats.spool;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import ru.practicum.stats.StatsClient;
+import ru.practicum.stats.StatsUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class HitSpoolDrainer implements AutoCloseable {
+    private final HitSpool spool;
+    private final StatsClient statsClient;
+    private final HitCoalescer coalescer;
+    private final int batchSize;
+    private final Duration interval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stats-spool-drainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HitSpoolDrainer(HitSpool spool, StatsClient statsClient, HitCoalescer coalescer, int batchSize,
+                           Duration interval) {
+        this.spool = spool;
+        this.statsClient = statsClient;
+        this.coalescer = coalescer;
+        this.batchSize = batchSize;
+        this.interval = interval;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void drain() {
+        try {
+            HitSpool.Batch batch = spool.peek(batchSize);
+            while (!batch.getHits().isEmpty()) {
+                try {
+                    statsClient.sendHits(coalescer.coalesce(batch.getHits()));
+                } catch (HttpClientErrorException exception) {
+                    log.error("Сервис статистики отклонил пачку из {} хитов, она будет пропущена: {}",
+                            batch.getHits().size(), exception.getMessage());
+                }
+                spool.commit(batch);
+                batch = spool.peek(batchSize);
+            }
+        } catch (StatsUnavailableException exception) {
+            log.warn("Сервис статистики недоступен, хиты останутся в очереди: {}", exception.getMessage());
+        } catch (RuntimeException exception) {
+            log.error("Ошибка при отправке хитов из очереди.", exception);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
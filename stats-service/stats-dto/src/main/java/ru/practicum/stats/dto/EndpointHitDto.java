@@ -13,4 +13,6 @@ public class EndpointHitDto {
     private String ip;
 
     private String timestamp;
+
+    private Integer count;
 }
@@ -28,6 +28,12 @@ public class StatsController {
         statsService.addHit(endpointHitDto);
     }
 
+    @PostMapping("/hits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public void addHits(@RequestBody List<EndpointHitDto> endpointHitDtos) {
+        statsService.addHits(endpointHitDtos);
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(@RequestParam String start,
                                        @RequestParam String end,
@@ -19,6 +19,7 @@ public final class StatsMapper {
         hit.setUri(dto.getUri());
         hit.setIp(dto.getIp());
         hit.setTimestamp(LocalDateTime.parse(dto.getTimestamp(), FORMATTER));
+        hit.setHitCount(dto.getCount() == null ? 1 : dto.getCount());
         return hit;
     }
 
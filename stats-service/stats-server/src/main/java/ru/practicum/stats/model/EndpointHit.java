@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "endpoint_hits")
@@ -32,4 +33,8 @@ public class EndpointHit {
 
     @Column(name = "hit_timestamp", nullable = false)
     private LocalDateTime timestamp;
+
+    @ColumnDefault("1")
+    @Column(name = "hit_count", nullable = false)
+    private int hitCount;
 }
\ No newline at end of file
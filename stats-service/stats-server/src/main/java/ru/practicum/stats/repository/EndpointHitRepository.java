@@ -8,7 +8,7 @@ import org.springframework.data.repository.query.Param;
 import ru.practicum.stats.model.EndpointHit;
 
 public interface EndpointHitRepository extends JpaRepository<EndpointHit, Long> {
-    @Query("select h.app as app, h.uri as uri, count(h.id) as hits " +
+    @Query("select h.app as app, h.uri as uri, sum(h.hitCount) as hits " +
             "from EndpointHit h " +
             "where h.timestamp between :start and :end " +
             "and (:urisEmpty = true or h.uri in :uris) " +
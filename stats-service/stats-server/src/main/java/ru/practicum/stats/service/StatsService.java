@@ -7,5 +7,7 @@ import ru.practicum.stats.dto.ViewStatsDto;
 public interface StatsService {
     void addHit(EndpointHitDto endpointHitDto);
 
+    void addHits(List<EndpointHitDto> endpointHitDtos);
+
     List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique);
 }
\ No newline at end of file
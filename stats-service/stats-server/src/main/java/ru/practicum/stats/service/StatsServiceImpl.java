@@ -28,9 +28,19 @@ public class StatsServiceImpl implements StatsService {
     @Override
     @Transactional
     public void addHit(EndpointHitDto endpointHitDto) {
+        validateCount(endpointHitDto);
         endpointHitRepository.save(StatsMapper.toEntity(endpointHitDto));
     }
 
+    @Override
+    @Transactional
+    public void addHits(List<EndpointHitDto> endpointHitDtos) {
+        endpointHitDtos.forEach(this::validateCount);
+        endpointHitRepository.saveAll(endpointHitDtos.stream()
+                .map(StatsMapper::toEntity)
+                .toList());
+    }
+
     @Override
     public List<ViewStatsDto> getStats(String start, String end, List<String> uris, boolean unique) {
         LocalDateTime startTime = parseDateTime(start);
@@ -52,6 +62,12 @@ public class StatsServiceImpl implements StatsService {
                 .toList();
     }
 
+    private void validateCount(EndpointHitDto endpointHitDto) {
+        if (endpointHitDto.getCount() != null && endpointHitDto.getCount() < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Количество хитов должно быть положительным.");
+        }
+    }
+
     private LocalDateTime parseDateTime(String value) {
         try {
             return LocalDateTime.parse(value, FORMATTER);